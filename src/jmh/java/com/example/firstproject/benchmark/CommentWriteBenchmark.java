@@ -0,0 +1,67 @@
+package com.example.firstproject.benchmark;
+
+import com.example.firstproject.FirstprojectApplication;
+import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.service.CommentService;
+import com.example.firstproject.service.CommentWriteBehind;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// 한 게시글에 댓글이 몰릴 때의 댓글 생성 처리량 비교
+// SYNC: 요청마다 트랜잭션을 열고 INSERT (CommentService.create)
+// WRITE_BEHIND: 저널에 기록하고 바로 반환, 백그라운드에서 batch INSERT (CommentWriteBehind.accept)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CommentWriteBenchmark {
+
+    @Param({"SYNC", "WRITE_BEHIND"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private CommentService commentService;
+    private CommentWriteBehind commentWriteBehind;
+    private Path journal;
+
+    @Setup
+    public void setup() throws IOException {
+        journal = Files.createTempFile("comment-journal", ".dat");
+        Files.delete(journal);
+        context = new SpringApplicationBuilder(FirstprojectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:comment-write-" + mode,
+                        "--comment.write-behind.enabled=" + mode.equals("WRITE_BEHIND"),
+                        "--comment.write-behind.journal=" + journal,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--debugging.mode=OFF");
+        commentService = context.getBean(CommentService.class);
+        commentWriteBehind = context.getBean(CommentWriteBehind.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(journal);
+    }
+
+    @Benchmark
+    public CommentDto create() {
+        CommentDto dto = new CommentDto(null, 4L, "nickname", "댓글 내용입니다.");
+        CommentDto accepted = commentWriteBehind.accept(4L, dto);
+        return (accepted != null) ? accepted : commentService.create(4L, dto);
+    }
+}
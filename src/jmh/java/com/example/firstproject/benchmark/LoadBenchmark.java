@@ -0,0 +1,129 @@
+package com.example.firstproject.benchmark;
+
+import com.example.firstproject.FirstprojectApplication;
+import com.example.firstproject.config.ThreadConfig;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 요청 처리 스레드 종류(PLATFORM / VIRTUAL)별로 서버를 띄우고, 동시 연결 수를 유지하며 부하를 주어
+// 처리량(req/s)과 응답 시간 백분위수(p50, p99)를 비교하는 부하 벤치마크
+// JMH 는 메서드 단위 측정 도구라 동시 연결 부하에는 맞지 않으므로 main 으로 실행
+//
+// 실행: ./gradlew loadBenchmark -Pload.connections=10000 -Pload.duration=30 -Pload.modes=PLATFORM,VIRTUAL
+// 다른 JVM(다른 장비)에 띄운 서버를 측정하려면 -Pload.url=http://host:8080 (이 경우 modes 는 무시)
+//
+// 동시 연결 10000 개를 만들려면 열 수 있는 파일 수(ulimit -n)가 충분해야 함
+// VIRTUAL 모드는 Java 21 이상에서 실행해야 하며, 그 미만에서는 PLATFORM 으로 동작함 (결과에 표시)
+public class LoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int connections = Integer.getInteger("load.connections", 10000);
+        int warmupSeconds = Integer.getInteger("load.warmup", 10);
+        int durationSeconds = Integer.getInteger("load.duration", 30);
+        String url = System.getProperty("load.url");
+        String[] modes = System.getProperty("load.modes", "PLATFORM,VIRTUAL").split(",");
+
+        System.out.printf("JDK %s, 가상 스레드 지원: %s, 동시 연결: %d, 측정 시간: %ds%n",
+                Runtime.version(), ThreadConfig.isVirtualThreadSupported(), connections, durationSeconds);
+
+        if (url != null) {
+            run(url, url, connections, warmupSeconds, durationSeconds);
+            return;
+        }
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext context = start(mode.trim(), connections)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                run(mode.trim(), "http://localhost:" + port, connections, warmupSeconds, durationSeconds);
+            }
+        }
+    }
+
+    // 선택한 모드로 서버 시작 (임의의 포트)
+    // 동시 연결을 모두 받을 수 있도록 Tomcat 의 최대 연결 수를 늘리고, 로그는 최소화
+    private static ConfigurableApplicationContext start(String mode, int connections) {
+        return new SpringApplicationBuilder(FirstprojectApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--request-execution.mode=" + mode,
+                        "--server.tomcat.max-connections=" + (connections + 1000),
+                        "--server.tomcat.accept-count=" + connections,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--debugging.mode=OFF");
+    }
+
+    // 동시에 진행 중인 요청 수를 connections 로 유지하면서 게시글 단건/댓글 목록 조회를 반복
+    // 워밍업 동안의 결과는 버리고, 측정 구간의 응답만 집계
+    private static void run(String label, String baseUrl, int connections,
+                            int warmupSeconds, int durationSeconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer timer = Timer.builder("load.latency")
+                .publishPercentiles(0.5, 0.99)
+                // 측정 구간 전체의 백분위수를 보기 위해 집계 창을 충분히 길게 설정
+                .distributionStatisticExpiry(Duration.ofHours(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+        AtomicLong errors = new AtomicLong();
+        Semaphore inFlight = new Semaphore(connections);
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        while (System.nanoTime() < measureTo) {
+            inFlight.acquire();
+            // data.sql 의 게시글(1~6) 중 하나, 댓글 목록은 4~6번 게시글에만 있음
+            long id = ThreadLocalRandom.current().nextLong(1, 7);
+            String path = (id % 2 == 0) ? "/api/articles/" + id : "/api/articles/" + id + "/comments";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        long end = System.nanoTime();
+                        inFlight.release();
+                        if (start < measureFrom || end > measureTo)
+                            return;
+                        if (e != null || response.statusCode() != 200)
+                            errors.incrementAndGet();
+                        else
+                            timer.record(end - start, TimeUnit.NANOSECONDS);
+                    });
+        }
+        // 남은 요청이 끝날 때까지 대기
+        inFlight.acquire(connections);
+
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        double p50 = 0, p99 = 0;
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            if (percentile.percentile() == 0.5)
+                p50 = percentile.value(TimeUnit.MILLISECONDS);
+            else if (percentile.percentile() == 0.99)
+                p99 = percentile.value(TimeUnit.MILLISECONDS);
+        }
+        System.out.printf("%-8s 처리량: %10.1f req/s, p50: %8.2f ms, p99: %8.2f ms, 오류: %d%n",
+                label, snapshot.count() / (double) durationSeconds, p50, p99, errors.get());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.firstproject.benchmark;
+
+import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.entity.Article;
+import com.example.firstproject.entity.Comment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 엔티티 <-> DTO 변환과 patch() 의 처리량/할당량 측정
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private Comment comment;
+    private CommentDto commentPatch;
+    private Article article;
+    private Article articlePatch;
+
+    @Setup
+    public void setup() {
+        Long commentId = 1L;
+        article = new Article(4L, "당신의 인생 영화는?", "댓글 ㄱ");
+        comment = new Comment(commentId, article, "Park", "굳 윌 헌팅");
+        commentPatch = new CommentDto(commentId, 4L, "Koo", "아이 엠 구");
+        articlePatch = new Article(4L, "당신의 소울 푸드는?", null);
+    }
+
+    @Benchmark
+    public CommentDto createCommentDto() {
+        return CommentDto.createCommentDto(comment);
+    }
+
+    @Benchmark
+    public Comment commentPatch() {
+        comment.patch(commentPatch);
+        return comment;
+    }
+
+    @Benchmark
+    public Article articlePatch() {
+        article.patch(articlePatch);
+        return article;
+    }
+}
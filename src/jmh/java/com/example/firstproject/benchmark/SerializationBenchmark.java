@@ -0,0 +1,127 @@
+package com.example.firstproject.benchmark;
+
+import com.example.firstproject.dto.ArticleSummary;
+import com.example.firstproject.dto.CommentDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// API 응답(List<ArticleSummary>, List<CommentDto>)과 Burger 의 Jackson 직렬화 처리량/할당량 측정
+// DEFAULT: 기본 ObjectMapper, 응답마다 ObjectWriter 를 새로 만듦 (스프링의 기본 JSON 컨버터와 같은 방식)
+// TUNED: Blackbird 모듈을 등록한 ObjectMapper, 타입별로 미리 만든 ObjectWriter 재사용 (JacksonConfig)
+// 결과는 응답 스트림 대신 재사용하는 버퍼에 기록하여, 출력 버퍼의 할당은 측정에서 제외
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    // 한 번에 직렬화할 목록의 크기
+    @Param({"20", "1000"})
+    public int size;
+
+    @Param({"DEFAULT", "TUNED"})
+    public String mode;
+
+    // objectmapper 테스트의 Burger 와 같은 모양 (테스트 클래스는 벤치마크에서 사용할 수 없음)
+    public static class Burger {
+        private final String name;
+        private final int price;
+        private final List<String> ingredients;
+
+        Burger(String name, int price, List<String> ingredients) {
+            this.name = name;
+            this.price = price;
+            this.ingredients = ingredients;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getPrice() {
+            return price;
+        }
+
+        public List<String> getIngredients() {
+            return ingredients;
+        }
+    }
+
+    private ObjectMapper objectMapper;
+    private List<ArticleSummary> articles;
+    private List<CommentDto> comments;
+    private List<Burger> burgers;
+    private JavaType articleListType;
+    private JavaType commentListType;
+    private JavaType burgerListType;
+    private ObjectWriter articleListWriter;
+    private ObjectWriter commentListWriter;
+    private ObjectWriter burgerListWriter;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() {
+        // 스프링 부트의 ObjectMapper 와 같은 설정 (Jackson2ObjectMapperBuilder, 날짜는 ISO-8601 문자열로)
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (mode.equals("TUNED"))
+            builder.modulesToInstall(new BlackbirdModule());
+        objectMapper = builder.build();
+
+        articles = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        burgers = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 1; i <= size; i++) {
+            articles.add(new ArticleSummary(i, "게시글 제목 " + i, "게시글 내용입니다. " + i, i % 30, now));
+            comments.add(new CommentDto(i, (i % 10) + 1, "nickname" + (i % 7), "댓글 내용입니다. " + i));
+            burgers.add(new Burger("맥도날드 핫 크리스피버거 " + i, 8500,
+                    List.of("순쇠고기 패티", "바삭한 치킨패티", "토마토", "스파이시 어니언 화이트 소스")));
+        }
+
+        articleListType = objectMapper.constructType(new TypeReference<List<ArticleSummary>>() {});
+        commentListType = objectMapper.constructType(new TypeReference<List<CommentDto>>() {});
+        burgerListType = objectMapper.constructType(new TypeReference<List<Burger>>() {});
+        articleListWriter = objectMapper.writerFor(articleListType);
+        commentListWriter = objectMapper.writerFor(commentListType);
+        burgerListWriter = objectMapper.writerFor(burgerListType);
+        out = new ByteArrayOutputStream(size * 256);
+    }
+
+    @Benchmark
+    public int articleList() throws IOException {
+        return write(articleListWriter, articleListType, articles);
+    }
+
+    @Benchmark
+    public int commentDtoList() throws IOException {
+        return write(commentListWriter, commentListType, comments);
+    }
+
+    @Benchmark
+    public int burgerList() throws IOException {
+        return write(burgerListWriter, burgerListType, burgers);
+    }
+
+    private int write(ObjectWriter cached, JavaType type, Object value) throws IOException {
+        ObjectWriter writer = mode.equals("TUNED") ? cached : objectMapper.writer().forType(type);
+        out.reset();
+        writer.writeValue(out, value);
+        return out.size();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.firstproject.benchmark;
+
+import com.example.firstproject.FirstprojectApplication;
+import com.example.firstproject.dto.ArticleDetail;
+import com.example.firstproject.dto.ArticleForm;
+import com.example.firstproject.dto.ArticleSummary;
+import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.repository.ArticleRepository;
+import com.example.firstproject.repository.CommentRepository;
+import com.example.firstproject.service.ArticleService;
+import com.example.firstproject.service.CommentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 인메모리 H2 에 데이터를 채운 뒤 서비스 계층의 조회 처리량/할당량 측정 (화면과 API 가 실제로 호출하는 경로)
+// listAll: 게시글 목록 페이지(/articles), indexFirstPage: 목록 API(/api/articles)
+// *Cached 벤치마크는 캐시를 거치는 실제 서비스 경로, *Db 벤치마크는 캐시 없이 매번 DB 를 조회하는 경로
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    // 추가로 채울 게시글 수 (data.sql 의 6건 외)
+    @Param({"1000"})
+    public int articles;
+
+    // 게시글마다 채울 댓글 수
+    @Param({"10"})
+    public int commentsPerArticle;
+
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    private CommentService commentService;
+    private ArticleRepository articleRepository;
+    private CommentRepository commentRepository;
+    private long maxId;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(FirstprojectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--debugging.mode=OFF");
+        articleService = context.getBean(ArticleService.class);
+        commentService = context.getBean(CommentService.class);
+        articleRepository = context.getBean(ArticleRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+
+        // 게시글 채우기
+        List<ArticleForm> forms = new ArrayList<>(articles);
+        for (int i = 0; i < articles; i++) {
+            forms.add(new ArticleForm(null, "게시글 제목 " + i, "게시글 내용입니다. " + i));
+        }
+        articleService.importArticles(forms);
+        maxId = articleRepository.count();
+
+        // 댓글 채우기
+        List<CommentDto> comments = new ArrayList<>();
+        for (long articleId = 1; articleId <= maxId; articleId++) {
+            for (int i = 0; i < commentsPerArticle; i++) {
+                comments.add(new CommentDto(null, articleId, "nickname" + i, "댓글 내용입니다. " + i));
+            }
+        }
+        commentService.importComments(comments.iterator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, maxId + 1);
+    }
+
+    @Benchmark
+    public int listAll() {
+        int count = 0;
+        for (ArticleSummary ignored : articleService.iterateAll()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public List<ArticleSummary> indexFirstPage() {
+        return articleService.index(null, ArticleService.DEFAULT_PAGE_SIZE).getArticles();
+    }
+
+    @Benchmark
+    public ArticleDetail showCached() {
+        return articleService.detail(randomId());
+    }
+
+    @Benchmark
+    public ArticleDetail showDb() {
+        return articleRepository.findDetailById(randomId()).orElse(null);
+    }
+
+    @Benchmark
+    public List<CommentDto> commentsCached() {
+        return commentService.comments(randomId());
+    }
+
+    @Benchmark
+    public List<CommentDto> commentsDb() {
+        return commentRepository.findDtosByArticleId(randomId());
+    }
+}
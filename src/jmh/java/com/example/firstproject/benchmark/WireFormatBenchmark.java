@@ -0,0 +1,93 @@
+package com.example.firstproject.benchmark;
+
+import com.example.firstproject.dto.ArticleSummary;
+import com.example.firstproject.dto.CommentDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 서비스 간 호출의 응답 형식(JSON / CBOR / Smile)별 인코딩(write*), 디코딩(read*) 처리량/할당량 비교
+// 형식마다 본문 크기(bytes)는 준비 단계에서 출력
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    // 한 번에 주고받을 목록의 크기
+    @Param({"20", "1000"})
+    public int size;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public String format;
+
+    private List<ArticleSummary> articles;
+    private List<CommentDto> comments;
+    private ObjectWriter articleListWriter;
+    private ObjectWriter commentListWriter;
+    private ObjectReader commentListReader;
+    private byte[] articleBody;
+    private byte[] commentBody;
+
+    @Setup
+    public void setup() throws IOException {
+        JsonFactory factory = format.equals("CBOR") ? new CBORFactory() :
+                format.equals("SMILE") ? new SmileFactory() : new JsonFactory();
+        // JacksonConfig 의 CBOR/Smile 컨버터처럼 스프링 부트와 같은 설정의 ObjectMapper 를 형식의 factory 로 만듦
+        // (Jackson2ObjectMapperBuilder, Blackbird 모듈, 날짜는 ISO-8601 문자열로)
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .modulesToInstall(new BlackbirdModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        articles = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 1; i <= size; i++) {
+            articles.add(new ArticleSummary(i, "게시글 제목 " + i, "게시글 내용입니다. " + i, i % 30, now));
+            comments.add(new CommentDto(i, (i % 10) + 1, "nickname" + (i % 7), "댓글 내용입니다. " + i, 0L));
+        }
+
+        TypeReference<List<ArticleSummary>> articleListType = new TypeReference<>() {};
+        TypeReference<List<CommentDto>> commentListType = new TypeReference<>() {};
+        articleListWriter = objectMapper.writerFor(articleListType);
+        commentListWriter = objectMapper.writerFor(commentListType);
+        commentListReader = objectMapper.readerFor(commentListType);
+        articleBody = articleListWriter.writeValueAsBytes(articles);
+        commentBody = commentListWriter.writeValueAsBytes(comments);
+        System.out.printf("%n%s size=%d: articles %d bytes, comments %d bytes%n",
+                format, size, articleBody.length, commentBody.length);
+    }
+
+    @Benchmark
+    public byte[] writeArticleList() throws IOException {
+        return articleListWriter.writeValueAsBytes(articles);
+    }
+
+    @Benchmark
+    public byte[] writeCommentList() throws IOException {
+        return commentListWriter.writeValueAsBytes(comments);
+    }
+
+    @Benchmark
+    public List<CommentDto> readCommentList() throws IOException {
+        return commentListReader.readValue(commentBody);
+    }
+}
@@ -2,8 +2,11 @@ package com.example.firstproject;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC ConnectionFactory 가 빈으로 등록되면 스프링 부트가 JDBC DataSource 를 만들지 않으므로(JPA 도 동작하지 않음)
+// R2DBC 자동 설정은 끄고, 논블로킹 조회에 필요한 DatabaseClient 만 R2dbcConfig 에서 직접 만든다
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class FirstprojectApplication {
 
 	public static void main(String[] args) {
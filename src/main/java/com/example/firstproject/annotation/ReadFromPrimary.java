@@ -0,0 +1,14 @@
+package com.example.firstproject.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 읽기 전용 트랜잭션이라도 복제본이 아닌 primary 에서 읽어야 하는 메서드에 붙임 (ReadFromPrimaryAspect)
+// 예) 캐시를 채우는 조회: 복제본이 아직 따라잡지 못했다면, 방금 수정되어 제거된 캐시에 이전 값이 다시 저장됨
+//     방금 만든 데이터를 확인하는 조회: 복제본에는 아직 없을 수 있음
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
@@ -11,4 +11,8 @@ import java.lang.annotation.Target;
 // @RunningTime 어노테이션의 유지 시간을 설정하는 부분
 @Retention(RetentionPolicy.RUNTIME) // 어노테이션 유지 시간
 public @interface RunningTime {
+
+    // 수행 시간 지표에 추가로 붙일 태그, "key=value" 형식
+    // 예) @RunningTime(tags = {"layer=api", "resource=comment"})
+    String[] tags() default {};
 }
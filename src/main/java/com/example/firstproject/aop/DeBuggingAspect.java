@@ -2,24 +2,86 @@ package com.example.firstproject.aop;
 
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Aspect // 부가 기능 주입을 위한 AOP 클래스 선언
 @Component  // IoC 컨테이너가 해당 객체를 생성 및 관리
 @Slf4j
 public class DeBuggingAspect {
 
+    @Autowired
+    private DebuggingProperties properties;
+
+    // 메서드별 샘플링 비율 (호출마다 "클래스명#메서드명" 문자열을 만들지 않도록 저장해둠)
+    private final Map<Method, Double> sampleRates = new ConcurrentHashMap<>();
+
+    // ASYNC 모드에서 로깅할 이벤트(호출 하나)를 담아두는 링 버퍼와, 이를 꺼내 로깅하는 스레드
+    private BlockingQueue<LogEvent> queue;
+    private Thread writer;
+
+    // 링 버퍼가 가득 차서 버려진 이벤트 수
+    private final AtomicLong dropped = new AtomicLong();
+
     // 대상 메서드 선택: api 패키지 의 모든 메서드
     @Pointcut("execution(* com.example.firstproject.api.*.*(..))")
     private void cut() {}
 
-    // 실행 시점 설정: cut()의 대상이 수행되기 이전
-    @Before("cut()")
-    public void loggingArgs(JoinPoint joinPoint) { // JoinPoint 는 메서드 실행, 메서드 호출, 필드 접근 등과 같은 애플리케이션 실행 중의 특정 지점을 의미
+    @PostConstruct
+    public void start() {
+        if (properties.getMode() != DebuggingProperties.Mode.ASYNC)
+            return;
+
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        writer = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    write(queue.take());
+                }
+            } catch (InterruptedException e) {
+                // 종료 요청, 남은 이벤트를 마저 기록
+                LogEvent event;
+                while ((event = queue.poll()) != null) {
+                    write(event);
+                }
+            }
+        }, "debugging-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer != null)
+            writer.interrupt();
+    }
+
+    // 실행 시점 설정: cut()의 대상이 수행되는 전후
+    // 샘플링은 호출마다 한 번만 결정하고, 입력값과 반환값을 하나의 이벤트로 함께 기록
+    // (입력값과 반환값을 따로 샘플링하면 서로 다른 호출의 입력값/반환값이 남고, 둘 다 남는 호출은 rate² 뿐)
+    @Around("cut()")
+    public Object logging(ProceedingJoinPoint joinPoint) throws Throwable { // ProceedingJoinPoint 는 대상 메서드의 실행을 제어할 수 있는 객체
+        if (!sampled(joinPoint))
+            return joinPoint.proceed();
+
         // JoinPoint 를 통해 현재 실행 중인 메서드에 전달된 인자들을 가져오기
         Object[] args = joinPoint.getArgs();
 
@@ -32,34 +94,117 @@ public class DeBuggingAspect {
         String methodName = joinPoint.getSignature()
                 .getName();
 
-        // 입력값 로깅하기
+        // 입력값과 반환값 로깅하기
         // CommentService#create()의 입력값 => 5
         // CommentService#create()의 입력값 => CommentDto(id=null, ...)
+        // CommentService#create()의 반환값 => CommentDto(id=10, ...)
+        Object returnObj;
+        try {
+            returnObj = joinPoint.proceed();
+        } catch (Throwable e) {
+            // 예외로 끝난 호출은 입력값만 기록
+            emit(new LogEvent(className, methodName, args, false, null));
+            throw e;
+        }
+        emit(new LogEvent(className, methodName, args, true, returnObj));
+        return returnObj;
+    }
+
+    // 이번 호출을 로깅할지 결정
+    // 로깅이 꺼져 있거나 INFO 레벨이 비활성화라면 인자를 건드리지 않고 바로 빠져나감
+    private boolean sampled(JoinPoint joinPoint) {
+        if (properties.getMode() == DebuggingProperties.Mode.OFF || !log.isInfoEnabled())
+            return false;
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        double rate = sampleRates.computeIfAbsent(method, key -> properties.getSampleRates()
+                .getOrDefault(joinPoint.getTarget().getClass().getSimpleName() + "#" + key.getName(),
+                        properties.getSampleRate()));
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    // SYNC 모드는 바로 기록하고, ASYNC 모드는 링 버퍼에 넣기만 함 (문자열 변환은 기록하는 스레드에서)
+    private void emit(LogEvent event) {
+        if (queue == null) {
+            write(event);
+        } else if (!queue.offer(event)) {
+            // 버퍼가 가득 찼다면 요청 스레드를 기다리게 하지 않고 버림
+            long count = dropped.incrementAndGet();
+            if (count % 1000 == 1)
+                log.warn("디버깅 로그 버퍼가 가득 찼습니다! 버려진 이벤트 수: {}", count);
+        }
+    }
 
-        for (Object obj : args) {
-            // {}는  placeholder 로 사용되는데, 이를 통해 문자열 내에 변수 값을 동적으로 삽입할 수 있음
-            // {} 안에 위치한 className, methodName, obj 는 각각 클래스 이름, 메서드 이름, 인자 값을 나타냄
-            log.info("{}#{}의 입력값 => {}", className, methodName, obj);
+    // 이벤트를 문자열로 변환하여 로깅
+    private void write(LogEvent event) {
+        // {}는  placeholder 로 사용되는데, 이를 통해 문자열 내에 변수 값을 동적으로 삽입할 수 있음
+        // {} 안에 위치한 className, methodName, obj 는 각각 클래스 이름, 메서드 이름, 인자 값을 나타냄
+        for (Object arg : event.args) {
+            log.info("{}#{}의 입력값 => {}", event.className, event.methodName, render(arg));
+        }
+        if (event.returned) {
+            log.info("{}#{}의 반환값 => {}", event.className, event.methodName, render(event.returnValue));
         }
     }
 
-    // 실행 시점 설정: cut()에 지정된 대상이 호출이 정상적으로 성공 후!
-    @AfterReturning(value = "cut()", returning = "returnObj") // 반환값을 returnObj 라는 이름의 파라미터로 전달받을 수 있도록 설정
-    public void loggingReturnValue(JoinPoint joinPoint, // JoinPoint 는 메서드 실행, 메서드 호출, 필드 접근 등과 같은 애플리케이션 실행 중의 특정 지점을 의미
-                                   Object returnObj) {  // 리턴값
+    // 값을 최대 max-length 길이까지만 문자열로 변환
+    // 컬렉션은 전체를 toString() 하지 않고 앞쪽 원소부터 길이가 찰 때까지만 변환
+    // ResponseEntity 는 상태 코드와 본문(body)을 같은 방식으로 변환
+    private String render(Object value) {
+        int maxLength = properties.getMaxLength();
+        try {
+            StringBuilder sb = new StringBuilder();
+            if (value instanceof ResponseEntity) {
+                ResponseEntity<?> entity = (ResponseEntity<?>) value;
+                sb.append('<').append(entity.getStatusCode()).append(',');
+                append(sb, entity.getBody(), maxLength);
+                sb.append('>');
+            } else {
+                append(sb, value, maxLength);
+            }
+            return truncate(sb, maxLength);
+        } catch (RuntimeException e) {
+            // 지연 로딩 엔티티처럼 다른 스레드에서 문자열로 만들 수 없는 값
+            return value.getClass().getSimpleName() + "(표시 불가: " + e.getClass().getSimpleName() + ")";
+        }
+    }
 
-        // JoinPoint 를 통해 현재 실행 중인 메서드가 속한 클래스의 이름을 가져오기
-        String className = joinPoint.getTarget()
-                .getClass()
-                .getSimpleName();
+    private void append(StringBuilder sb, Object value, int maxLength) {
+        if (!(value instanceof Collection)) {
+            sb.append(value);
+            return;
+        }
+        Collection<?> collection = (Collection<?>) value;
+        sb.append("(size=").append(collection.size()).append(")[");
+        Iterator<?> it = collection.iterator();
+        while (it.hasNext() && sb.length() < maxLength) {
+            sb.append(it.next());
+            if (it.hasNext())
+                sb.append(", ");
+        }
+        sb.append(']');
+    }
 
-        // JoinPoint 를 통해 현재 실행 중인 메서드의 이름을 가져오기
-        String methodName = joinPoint.getSignature()
-                .getName();
+    private String truncate(StringBuilder sb, int maxLength) {
+        if (sb.length() <= maxLength)
+            return sb.toString();
+        return sb.substring(0, maxLength) + "...";
+    }
 
-        // 반환값 로깅
-        // CommentService#create()의 입력값 => CommentDto(id=10, ...)
-        log.info("{}#{}의 반환값 => {}", className, methodName, returnObj);
+    // 로깅할 호출 하나의 입력값과 반환값
+    private static class LogEvent {
+        private final String className;
+        private final String methodName;
+        private final Object[] args;
+        private final boolean returned; // false 면 예외로 끝나서 반환값이 없음
+        private final Object returnValue;
 
+        private LogEvent(String className, String methodName, Object[] args, boolean returned, Object returnValue) {
+            this.className = className;
+            this.methodName = methodName;
+            this.args = args;
+            this.returned = returned;
+            this.returnValue = returnValue;
+        }
     }
 }
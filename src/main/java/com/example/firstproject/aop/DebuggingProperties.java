@@ -0,0 +1,37 @@
+package com.example.firstproject.aop;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// DeBuggingAspect 의 입력값/반환값 로깅 설정 (application.properties 의 debugging.* 항목)
+@Component
+@ConfigurationProperties(prefix = "debugging")
+@Getter
+@Setter
+public class DebuggingProperties {
+
+    // 로깅 방식
+    // SYNC: 요청 스레드에서 바로 로깅 (기존 동작)
+    // ASYNC: 링 버퍼에 넣어두고 별도 스레드에서 문자열로 변환하여 로깅
+    public enum Mode { OFF, SYNC, ASYNC }
+
+    private Mode mode = Mode.SYNC;
+
+    // 기본 샘플링 비율 (0.0 ~ 1.0), 1.0 이면 모든 호출을 로깅
+    private double sampleRate = 1.0;
+
+    // 엔드포인트별 샘플링 비율, 키는 "클래스명#메서드명"
+    // 예) debugging.sample-rates.[ArticleApiController#index]=0.01
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    // 입력값/반환값을 문자열로 만들 때의 최대 길이 (넘치는 부분은 잘라냄)
+    private int maxLength = 1000;
+
+    // ASYNC 모드에서 링 버퍼의 크기, 가득 차면 새 이벤트는 버려짐
+    private int queueCapacity = 1024;
+}
@@ -1,20 +1,47 @@
 package com.example.firstproject.aop;
 
+import com.example.firstproject.annotation.RunningTime;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Aspect
 @Component
 @Slf4j
 public class PerformanceAspect {
 
+    // 수행 시간 지표 이름, /actuator/metrics/method.running.time 으로 조회 가능
+    public static final String METRIC_NAME = "method.running.time";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 집계할 백분위수 (p50, p95, p99), 최대값(max)은 기본으로 집계됨
+    @Value("${running-time.percentiles:0.5,0.95,0.99}")
+    private double[] percentiles;
+
+    // 메서드별 Timer 를 한 번만 만들어두고 재사용 (측정할 때마다 Timer 를 찾거나 만들지 않도록)
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
     // @annotation 표현식을 사용하여 특정 어노테이션을 대상으로 지정
-    @Pointcut("@annotation(com.example.firstproject.annotation.RunningTime)") // 특정 어노테이션을 대상 지정
+    // @within 은 클래스에 어노테이션이 붙은 경우, 그 클래스의 모든 메서드를 대상으로 지정
+    @Pointcut("@annotation(com.example.firstproject.annotation.RunningTime) || " +
+            "@within(com.example.firstproject.annotation.RunningTime)") // 특정 어노테이션을 대상 지정
     private void enableRunningTime() {}
 
     // 특정 메서드 실행 지점을 지정하는 데 사용
@@ -25,22 +52,64 @@ public class PerformanceAspect {
     @Around("cut() && enableRunningTime()") // @Around 어드바이스는 대상 메서드 실행 이전과 이후에 추가적인 동작을 수행할 수 있음
     // ProceedingJoinPoint 는 대상 메서드의 실행을 제어할 수 있는 객체
     // Throwable 은 모든 예외 클래스의 최상위 클래스이며, 예외 처리의 기본 타입
-    public void loggingRunningTime(ProceedingJoinPoint joinPoint) throws Throwable {
+    // 대상 메서드의 반환값을 그대로 돌려주어야 호출한 쪽(예: 컨트롤러의 ResponseEntity)이 값을 잃지 않음
+    public Object loggingRunningTime(ProceedingJoinPoint joinPoint) throws Throwable {
         // 메소드 수행 전, 측정 시작
-        StopWatch stopWatch = new StopWatch(); // StopWatch 객체를 생성하고 시작 시간을 기록
-        stopWatch.start();
+        long start = System.nanoTime();
 
         // 메소드를 수행
-        Object returningObj = joinPoint.proceed(); // proceed() 메서드를 호출하는 것으로, 대상 메소드의 실행을 진행
+        Object returningObj;
+        try {
+            returningObj = joinPoint.proceed(); // proceed() 메서드를 호출하는 것으로, 대상 메소드의 실행을 진행
+        } catch (Throwable e) {
+            // 예외로 끝난 호출은 exception 태그를 달아 따로 집계 (드문 경로이므로 그때그때 조회)
+            timer(joinPoint, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
 
-        // 메소드 수행 후, 측정 종료 및 로깅
-        stopWatch.stop(); // 메소드의 수행이 완료된 후에는 측정을 종료
+        // 메소드 수행 후, 측정 종료 및 히스토그램에 기록
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, key -> timer(joinPoint, "none"));
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return returningObj;
+    }
+
+    // 메서드와 예외 종류에 해당하는 Timer 를 등록(이미 있으면 기존 것을 반환)
+    // class, method, exception 태그와 @RunningTime(tags = ...) 에 지정한 태그가 붙음
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget().getClass();
 
-        // JoinPoint 를 통해 현재 실행 중인 메서드의 이름을 가져오기
-        String methodName = joinPoint.getSignature()
-                .getName();
+        Tags tags = Tags.of(
+                "class", targetClass.getSimpleName(),
+                "method", method.getName(),
+                "exception", exception);
+        for (String tag : annotationTags(method, targetClass)) {
+            String[] keyValue = tag.split("=", 2);
+            if (keyValue.length == 2) {
+                tags = tags.and(keyValue[0].trim(), keyValue[1].trim());
+            } else {
+                log.warn("잘못된 @RunningTime 태그 형식! {} ({}#{})", tag, targetClass.getSimpleName(), method.getName());
+            }
+        }
+
+        return Timer.builder(METRIC_NAME)
+                .description("@RunningTime 메서드의 수행 시간")
+                .tags(tags)
+                .publishPercentiles(percentiles) // HdrHistogram 기반으로 백분위수를 계산
+                .register(meterRegistry);
+    }
 
-        // getTotalTimeSeconds()를 사용하여 총 수행 시간을 초 단위로 얻을 수 있음
-        log.info("{}의 총 수행 시간 => {} sec", methodName, stopWatch.getTotalTimeSeconds());
+    // 메서드에 붙은 @RunningTime 을 우선 사용하고, 없으면 클래스에 붙은 것을 사용
+    private String[] annotationTags(Method method, Class<?> targetClass) {
+        RunningTime runningTime = AnnotatedElementUtils.findMergedAnnotation(method, RunningTime.class);
+        if (runningTime == null) {
+            runningTime = AnnotatedElementUtils.findMergedAnnotation(targetClass, RunningTime.class);
+        }
+        return (runningTime != null) ? runningTime.tags() : new String[0];
     }
 }
@@ -0,0 +1,26 @@
+package com.example.firstproject.aop;
+
+import com.example.firstproject.config.ReplicaRoutingDataSource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// @ReadFromPrimary 메서드가 실행되는 동안 현재 스레드의 조회를 primary 로 보냄
+// 커넥션은 첫 쿼리를 실행할 때 고르므로(LazyConnectionDataSourceProxy), @Transactional 과의 적용 순서와 상관없음
+// 복제본이 설정되지 않았다면 아무 영향이 없음
+@Aspect
+@Component
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(com.example.firstproject.annotation.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.isPrimaryForced();
+        ReplicaRoutingDataSource.forcePrimary(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.forcePrimary(previous);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.firstproject.api;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// api 패키지의 컨트롤러에서 발생한 예외를 HTTP 응답으로 변환
+@Slf4j
+@RestControllerAdvice(basePackages = "com.example.firstproject.api")
+public class ApiExceptionHandler {
+
+    // If-Match 의 버전이 현재 버전과 다르거나, 수정하는 사이에 다른 요청이 먼저 수정한 경우
+    // 클라이언트는 최신 데이터를 다시 조회한 뒤 수정해야 하므로 412(Precondition Failed)로 응답
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> versionConflict(ObjectOptimisticLockingFailureException e) {
+        log.info("버전 충돌! {}#{}", e.getPersistentClassName(), e.getIdentifier());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+}
@@ -1,69 +1,163 @@
 package com.example.firstproject.api;
 
+import com.example.firstproject.dto.ArticleDetail;
 import com.example.firstproject.dto.ArticleForm;
+import com.example.firstproject.dto.ArticleImportResult;
+import com.example.firstproject.dto.ArticlePage;
+import com.example.firstproject.dto.ArticleSummary;
 import com.example.firstproject.entity.Article;
 import com.example.firstproject.service.ArticleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
 @RestController // RestAPI 용 컨트롤러! 데이터(JSON)를 반환
 public class ArticleApiController {
 
+    // NDJSON(한 줄에 JSON 하나) 스트리밍 응답의 미디어 타입
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    // Smile(바이너리 JSON)의 미디어 타입 (CBOR 는 MediaType.APPLICATION_CBOR)
+    // 요청/응답 본문은 Accept/Content-Type 에 따라 JSON, CBOR, Smile 중 하나로 변환됨 (JacksonConfig)
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    // 스트리밍 중 몇 건마다 응답을 클라이언트로 밀어낼지(flush)
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
     @Autowired // DI, 생성 객체를 가져와 연결!
     private ArticleService articleService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // NDJSON 스트리밍에 사용할 ObjectWriter (ArticleSummary 의 serializer 를 미리 찾아 두고 요청마다 재사용)
+    private ObjectWriter ndjsonWriter;
+
+    @PostConstruct
+    public void init() {
+        ndjsonWriter = objectMapper.writerFor(ArticleSummary.class).withRootValueSeparator("\n");
+    }
+
     // Article 객체의 목록이 반환되어 클라이언트에게 전달
     // GET
+    // 전체 목록 대신 커서(after) 이후의 한 페이지만 반환하고,
+    // 다음 페이지가 있다면 그 커서를 X-Next-Cursor 헤더로 알려준다
+    // 엔티티 대신 목록에 필요한 필드만 담은 ArticleSummary 를 반환
     @GetMapping("/api/articles")
-    public List<Article> index() {
-        return articleService.index();
+    public ResponseEntity<List<ArticleSummary>> index(@RequestParam(required = false) Long after,
+                                               @RequestParam(defaultValue = "" + ArticleService.DEFAULT_PAGE_SIZE) int size) {
+        ArticlePage page = articleService.index(after, size);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            builder.header("X-Next-Cursor", String.valueOf(page.getNextCursor()));
+        }
+        return builder.body(page.getArticles());
+    }
+
+    // Accept: application/x-ndjson 으로 요청하면 게시글을 한 줄에 하나씩 스트리밍
+    // DB 에서 읽는 즉시 응답으로 내보내므로 테이블 크기와 상관없이 힙 사용량이 일정함
+    @GetMapping(value = "/api/articles", produces = APPLICATION_NDJSON)
+    public void stream(@RequestParam(required = false) Long after,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON);
+        response.setCharacterEncoding("UTF-8");
+
+        // 각 값 사이에 줄바꿈을 넣어주는 SequenceWriter 로 한 건씩 기록
+        try (SequenceWriter writer = ndjsonWriter.writeValues(response.getOutputStream())) {
+            int[] count = {0};
+            articleService.stream(after, article -> {
+                try {
+                    writer.write(article);
+                    if (++count[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // 논블로킹 게시글 스트리밍 (R2DBC)
+    // Flux 를 반환하면 요청 스레드는 바로 반환되고, DB 에서 읽힌 게시글이 NDJSON 또는 SSE(text/event-stream)로 한 건씩 전송됨
+    // 한 건의 전송이 끝나야 다음 한 건을 요청하므로, 느린 클라이언트가 있어도 서버에 게시글이 쌓이지 않음
+    // 전송(블로킹 쓰기)은 MVC 비동기 실행기에서 실행됨 (ThreadConfig.mvcAsyncExecutor)
+    // 다른 목록 API 와 같이 엔티티 대신 ArticleSummary 를 반환
+    @GetMapping(value = "/api/reactive/articles", produces = {APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ArticleSummary> reactiveIndex(@RequestParam(required = false) Long after) {
+        return articleService.flux(after);
+    }
+
+    // 제목/내용 검색, 관련도가 높은 순으로 최대 k 개의 게시글을 반환
+    @GetMapping("/api/articles/search")
+    public List<ArticleSummary> search(@RequestParam String q,
+                                @RequestParam(defaultValue = "10") int k) {
+        return articleService.search(q, k);
     }
 
     // 해당 id 값을 가진 Article 객체가 반환되어 클라이언트에게 전달
+    // 게시글의 버전을 ETag 로 함께 보내고, 요청의 If-None-Match 가 같은 값이면 본문 없이 304(Not Modified)로 응답
+    // (ETag 가 담긴 ResponseEntity 의 If-None-Match 비교는 스프링 MVC 가 처리)
     @GetMapping("/api/articles/{id}")
-    public Article show(@PathVariable Long id) {
-        // 특정 id 값을 가진 Article 을 조회하여 반환
-        return articleService.show(id);
+    public ResponseEntity<ArticleDetail> show(@PathVariable Long id) {
+        // 특정 id 값을 가진 게시글을 응답용 DTO 로 조회하여 반환
+        ArticleDetail article = articleService.detail(id);
+        return (article != null) ?
+                ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(article)).body(article) :
+                ResponseEntity.status(HttpStatus.OK).build();
     }
 
     // POST
     @PostMapping("/api/articles")
     // @RequestBody 을 사용하여 요청의 본문에 있는 JSON 데이터를 ArticleForm 객체로 변환하여 매개변수 dto 로 받음
     // 이 dto 객체에는 새로운 Article 을 생성하는데 필요한 정보가 포함되어 있음
-    public ResponseEntity<Article> create(@RequestBody ArticleForm dto) {
+    public ResponseEntity<ArticleDetail> create(@RequestBody ArticleForm dto) {
         // ArticleForm 객체를 전달받아 새로운 Article 객체를 생성하는 메서드
-        // 이를 통해 새로운 Article 객체가 생성되고, 생성된 객체를 반환
-        Article created = articleService.create(dto);
+        // 이를 통해 새로운 Article 객체가 생성되고, 생성된 객체를 응답용 DTO 로 변환
+        ArticleDetail created = toDetail(articleService.create(dto));
         return (created != null) ?
                 // HTTP 상태 코드 200과 함께 생성된 Article 객체를 응답
-                ResponseEntity.status(HttpStatus.OK).body(created):
+                ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(created)).body(created):
                 // 생성된 객체가 없을 경우 HTTP 상태 코드 400을 응답
                 ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
     }
 
     // PATCH
     // update 메서드를 호출하고, 업데이트 결과에 따라 적절한 HTTP 응답을 반환
+    // If-Match 헤더가 있으면 그 ETag(버전)가 현재 게시글과 같을 때만 수정하고, 다르면 412(Precondition Failed)로 응답
     @PatchMapping("/api/articles/{id}")
-    public ResponseEntity<Article> update(@PathVariable Long id,
-                                          @RequestBody ArticleForm dto) {
+    public ResponseEntity<ArticleDetail> update(@PathVariable Long id,
+                                          @RequestBody ArticleForm dto,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // update 메서드를 호출하여 id와 dto 를 기반으로 Article 객체를 업데이트
-        Article updated = articleService.update(id, dto);
+        ArticleDetail updated = toDetail(articleService.update(id, dto, ETags.expectedVersion(ifMatch)));
         return (updated != null) ?
-                ResponseEntity.status(HttpStatus.OK).body(updated) :
+                ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(updated)).body(updated) :
                 ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
     }
 
     // DELETE
     // delete 메서드는 id를 경로 변수로 받고, articleService.delete(id)를 호출하여 해당 id에 해당하는 Article 객체를 삭제
+    // If-Match 헤더가 있으면 그 ETag(버전)가 현재 게시글과 같을 때만 삭제
     @DeleteMapping("/api/articles/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        Article deleted = articleService.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Article deleted = articleService.delete(id, ETags.expectedVersion(ifMatch));
         return (deleted != null) ?
                 ResponseEntity.status(HttpStatus.OK).build() :
                 ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -73,12 +167,29 @@ public class ArticleApiController {
     // 클라이언트가 ArticleForm 객체들을 전송하고,
     // 이를 사용하여 Article 객체들을 생성하고 리스트로 반환하는 트랜잭션 처리를 수행
     @PostMapping("/api/transaction-test")
-    public ResponseEntity<List<Article>> transactionTest(@RequestBody List<ArticleForm> dtos) {
-        // ArticleForm 객체들을 사용하여 Article 객체들을 생성하고, 생성된 Article 객체들의 리스트를 반환
+    public ResponseEntity<List<ArticleDetail>> transactionTest(@RequestBody List<ArticleForm> dtos) {
+        // ArticleForm 객체들을 사용하여 Article 객체들을 생성하고, 생성된 게시글들의 리스트를 반환
         // articleService.createArticles(dtos) 메서드에서 예외가 발생하거나 트랜잭션 처리가 실패할 경우, 롤백되어 이전 상태로 복구될 것임
-        List<Article> createdList = articleService.createArticles(dtos);
+        List<ArticleDetail> createdList = articleService.createArticles(dtos);
         return (createdList != null) ?
                 ResponseEntity.status(HttpStatus.OK).body(createdList) :
                 ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
     }
+
+    // 게시글 대량 등록
+    // 청크 단위로 커밋되므로 일부 청크가 실패해도 나머지는 저장되고, 실패한 청크 정보가 응답에 담긴다
+    @PostMapping("/api/articles/import")
+    public ResponseEntity<ArticleImportResult> importArticles(@RequestBody List<ArticleForm> dtos) {
+        ArticleImportResult result = articleService.importArticles(dtos);
+        return (result.getErrors().isEmpty()) ?
+                // 모두 성공했다면 200
+                ResponseEntity.status(HttpStatus.OK).body(result) :
+                // 일부 청크가 실패했다면 207(Multi-Status)과 함께 실패 정보를 응답
+                ResponseEntity.status(HttpStatus.MULTI_STATUS).body(result);
+    }
+
+    // 엔티티를 응답용 DTO 로 변환 (null 이면 null)
+    private static ArticleDetail toDetail(Article article) {
+        return (article != null) ? ArticleDetail.createArticleDetail(article) : null;
+    }
 }
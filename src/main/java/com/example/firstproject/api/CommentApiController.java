@@ -2,12 +2,24 @@ package com.example.firstproject.api;
 
 import com.example.firstproject.annotation.RunningTime;
 import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.dto.CommentImportResult;
+import com.example.firstproject.dto.CommentPage;
 import com.example.firstproject.service.CommentService;
+import com.example.firstproject.service.CommentWriteBehind;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -16,14 +28,54 @@ public class CommentApiController {
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private CommentWriteBehind commentWriteBehind;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 대량 등록 본문이 CBOR/Smile 일 때 사용할 ObjectMapper 를 가진 컨버터 (JacksonConfig)
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
     // 댓글 목록 조회
+    // 목록의 ETag 를 함께 보내고, 요청의 If-None-Match 가 같은 값이면 본문 없이 304(Not Modified)로 응답
     @GetMapping("/api/articles/{articleId}/comments")
     public ResponseEntity<List<CommentDto>> comments(@PathVariable Long articleId) {
         // 서비스에게 위임
         List<CommentDto> dtos = commentService.comments(articleId);
 
         // 결과 응답
-        return ResponseEntity.status(HttpStatus.OK).body(dtos);
+        return ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(dtos)).body(dtos);
+    }
+
+    // 논블로킹 댓글 목록 스트리밍 (R2DBC), NDJSON 또는 SSE(text/event-stream)로 한 건씩 전송
+    @GetMapping(value = "/api/reactive/articles/{articleId}/comments",
+            produces = {ArticleApiController.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CommentDto> reactiveComments(@PathVariable Long articleId) {
+        // 서비스에게 위임
+        return commentService.commentsFlux(articleId);
+    }
+
+    // 닉네임으로 댓글 검색 (대소문자 무시, prefix=true 면 앞부분 일치)
+    // 커서(after) 이후의 한 페이지만 반환하고, 다음 페이지가 있다면 그 커서를 X-Next-Cursor 헤더로 알려준다
+    @GetMapping("/api/comments")
+    public ResponseEntity<List<CommentDto>> search(@RequestParam String nickname,
+                                                   @RequestParam(defaultValue = "false") boolean prefix,
+                                                   @RequestParam(required = false) Long after,
+                                                   @RequestParam(defaultValue = "" + CommentService.DEFAULT_PAGE_SIZE) int size) {
+        // 서비스에게 위임
+        CommentPage page = commentService.searchByNickname(nickname, prefix, after, size);
+
+        // 결과 응답
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            builder.header("X-Next-Cursor", String.valueOf(page.getNextCursor()));
+        }
+        return builder.body(page.getComments());
     }
 
     // 댓글 생성
@@ -32,29 +84,68 @@ public class CommentApiController {
     // 클라이언트가 JSON 또는 XML 형식의 데이터를 요청 본문에 담아 전송할 때 사용
     public ResponseEntity<CommentDto> create(@PathVariable Long articleId,
                                              @RequestBody CommentDto dto) {
+        // write-behind 모드라면 저널에 기록만 하고 202(Accepted)와 임시 id(음수)로 응답
+        // 아직 저장되지 않았으므로 버전(ETag)은 없음
+        CommentDto acceptedDto = commentWriteBehind.accept(articleId, dto);
+        if (acceptedDto != null)
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(acceptedDto);
+
         // 서비스에게 위임
         CommentDto createdDto = commentService.create(articleId, dto);
         // 결과 응답
-        return ResponseEntity.status(HttpStatus.OK).body(createdDto);
+        return ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(createdDto.getVersion())).body(createdDto);
     }
 
     // 댓글 수정
+    // If-Match 헤더가 있으면 그 ETag(버전)가 현재 댓글과 같을 때만 수정하고, 다르면 412(Precondition Failed)로 응답
     @PatchMapping("/api/comments/{id}")
     public ResponseEntity<CommentDto> update(@PathVariable Long id,
-                                             @RequestBody CommentDto dto) {
+                                             @RequestBody CommentDto dto,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // 서비스에게 위임
-        CommentDto updatedDto = commentService.update(id, dto);
+        CommentDto updatedDto = commentService.update(id, dto, ETags.expectedVersion(ifMatch));
         // 결과 응답
-        return ResponseEntity.status(HttpStatus.OK).body(updatedDto);
+        return ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(updatedDto.getVersion())).body(updatedDto);
     }
 
     // 댓글 삭제
+    // If-Match 헤더가 있으면 그 ETag(버전)가 현재 댓글과 같을 때만 삭제
     @RunningTime
     @DeleteMapping("/api/comments/{id}")
-    public ResponseEntity<CommentDto> delete(@PathVariable Long id) {
+    public ResponseEntity<CommentDto> delete(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // 서비스에게 위임
-        CommentDto deletedDto = commentService.delete(id);
+        CommentDto deletedDto = commentService.delete(id, ETags.expectedVersion(ifMatch));
         // 결과 응답
         return ResponseEntity.status(HttpStatus.OK).body(deletedDto);
     }
+
+    // 댓글 대량 등록
+    // JSON 배열([{...}, {...}]) 또는 NDJSON(한 줄에 댓글 하나)을 받아, 본문을 읽는 대로 청크 단위로 저장
+    // CBOR, Smile 로 인코딩한 배열(또는 연속된 값)도 받음
+    @PostMapping(value = "/api/comments/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, ArticleApiController.APPLICATION_NDJSON,
+                    MediaType.APPLICATION_CBOR_VALUE, ArticleApiController.APPLICATION_SMILE})
+    public ResponseEntity<CommentImportResult> importComments(HttpServletRequest request) throws IOException {
+        // MappingIterator 는 본문이 배열이면 그 원소를, 아니면 연속된 값을 하나씩 읽어줌
+        try (MappingIterator<CommentDto> dtos = objectMapperFor(request.getContentType()).readerFor(CommentDto.class)
+                .readValues(request.getInputStream())) {
+            // 서비스에게 위임
+            CommentImportResult result = commentService.importComments(dtos);
+            // 결과 응답: 모두 저장되었다면 200, 일부가 저장되지 않았거나 본문을 끝까지 읽지 못했다면 207
+            return (result.getRejected() == 0 && result.getUnreadFrom() == null) ?
+                    ResponseEntity.status(HttpStatus.OK).body(result) :
+                    ResponseEntity.status(HttpStatus.MULTI_STATUS).body(result);
+        }
+    }
+
+    // 요청 본문의 형식(Content-Type)에 맞는 ObjectMapper
+    private ObjectMapper objectMapperFor(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(mediaType))
+            return cborConverter.getObjectMapper();
+        if (MediaType.parseMediaType(ArticleApiController.APPLICATION_SMILE).isCompatibleWith(mediaType))
+            return smileConverter.getObjectMapper();
+        return objectMapper;
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.firstproject.api;
+
+import com.example.firstproject.dto.ArticleDetail;
+import com.example.firstproject.dto.CommentDto;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+
+// ETag 헤더 값을 만들고, If-Match 헤더에서 버전을 읽어내는 도우미
+// 게시글/댓글의 ETag 는 엔티티의 버전(@Version)을 따옴표로 감싼 값 (예: "3")
+public final class ETags {
+
+    private ETags() {
+    }
+
+    // 엔티티 버전으로 ETag 생성
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // 게시글의 ETag 생성 (예: "3.12.1697..." = 버전.댓글 수.마지막 댓글 시각)
+    // 댓글 수는 @Version 을 올리지 않고 바뀌므로, 댓글 수가 바뀐 응답이 304 로 가려지지 않도록 함께 담음
+    // If-Match 에서는 첫 번째 '.' 앞의 버전만 비교하므로, 댓글이 달려도 게시글 수정은 충돌하지 않음
+    public static String of(ArticleDetail article) {
+        long lastCommentedAt = (article.getLastCommentedAt() != null) ?
+                article.getLastCommentedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        return "\"" + article.getVersion() + "." + article.getCommentCount() + "." + lastCommentedAt + "\"";
+    }
+
+    // 댓글 목록의 ETag 생성, 목록에 담긴 댓글들의 (id, 버전)이 모두 같으면 같은 값이 나옴
+    // 댓글이 추가/삭제/수정되면 id 나 버전이 달라지므로 값도 달라짐
+    // 목록 전체에 대한 하나의 버전이 없으므로 계산한 값으로 약한(weak) ETag 를 사용
+    public static String of(List<CommentDto> dtos) {
+        return "W/\"" + versionOf(dtos) + "\"";
+    }
+
+    // 댓글 목록의 버전 문자열 (댓글 수와 (id, 버전)들의 해시)
+    public static String versionOf(List<CommentDto> dtos) {
+        long hash = 17;
+        for (CommentDto dto : dtos) {
+            hash = 31 * hash + Objects.hash(dto.getId(), dto.getVersion());
+        }
+        return dtos.size() + "-" + Long.toHexString(hash);
+    }
+
+    // If-Match 헤더에서 기대하는 버전을 읽음
+    // 헤더가 없거나 "*" 라면 조건 없이 처리하도록 null 을 반환
+    // 형식이 잘못되었거나 여러 값이 나열되었다면 어떤 버전과도 일치하지 않도록 -1 을 반환
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*"))
+            return null;
+
+        String value = ifMatch.trim();
+        if (value.startsWith("W/"))
+            value = value.substring(2);
+        value = value.replace("\"", "");
+        // 게시글의 ETag 는 "버전.댓글 수.마지막 댓글 시각" 형식이므로 버전 부분만 사용
+        int dot = value.indexOf('.');
+        if (dot >= 0)
+            value = value.substring(0, dot);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.firstproject.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+
+@Configuration // 설정 클래스 선언
+@EnableCaching // @Cacheable, @CacheEvict 등 캐시 애노테이션을 활성화
+public class CacheConfig {
+
+    // 게시글 단건 조회 결과를 담는 캐시 이름
+    public static final String ARTICLES = "articles";
+
+    // 게시글별 댓글 목록(CommentDto 스냅샷)을 담는 캐시 이름
+    public static final String COMMENTS = "comments";
+
+    // 렌더링된 게시글 상세 페이지(HTML)를 담는 캐시 이름
+    public static final String ARTICLE_PAGES = "articlePages";
+
+    // 캐시마다 크기(maximumSize)와 만료 시간(expireAfterWrite)을 따로 지정할 수 있도록 Caffeine spec 문자열로 설정
+    // recordStats 를 켜두면 적중(hit)/실패(miss)/축출(eviction) 횟수가 집계되어
+    // /actuator/metrics/cache.gets, /actuator/metrics/cache.evictions 로 확인할 수 있음
+    @Value("${cache.articles.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+    private String articlesSpec;
+
+    @Value("${cache.comments.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}")
+    private String commentsSpec;
+
+    @Value("${cache.article-pages.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}")
+    private String articlePagesSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // 등록된 캐시 외의 이름은 만들지 않도록 설정 (오타로 인한 무제한 캐시 생성을 방지)
+        cacheManager.setCacheNames(Collections.emptyList());
+        cacheManager.registerCustomCache(ARTICLES, Caffeine.from(articlesSpec).build());
+        cacheManager.registerCustomCache(COMMENTS, Caffeine.from(commentsSpec).build());
+        cacheManager.registerCustomCache(ARTICLE_PAGES, Caffeine.from(articlePagesSpec).build());
+
+        // 트랜잭션 안에서 일어난 캐시 제거(evict)는 커밋 이후에 반영
+        // 커밋 전에 제거하면, 그 사이 다른 요청이 아직 커밋되지 않은 이전 데이터를 다시 캐시에 채울 수 있기 때문
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.firstproject.config;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// 응답 종류별 캐시 헤더(Cache-Control, Vary) 정책
+// - 정적 리소스: 내용 해시가 붙은 주소(hello-{md5}.html)는 내용이 바뀌면 주소도 바뀌므로 오래(max-age) 보관하고 다시 확인하지 않음(immutable)
+//               해시가 없는 주소는 no-cache 로 사용할 때마다 Last-Modified 로 변경 여부를 확인
+//               미리 압축된 파일(.br/.gz)이 있으면 Accept-Encoding 에 따라 응답이 달라지므로 Vary: Accept-Encoding
+// - API(/api/**): 같은 주소가 Accept 에 따라 JSON, CBOR, Smile, NDJSON 으로 응답되므로 Vary: Accept
+//               (응답 압축 시 Vary: Accept-Encoding 은 Tomcat 이 추가)
+// - 페이지(Mustache 뷰): 컨트롤러가 캐시 헤더를 정하지 않았다면 no-cache
+// - 오류 응답: 원래 요청에 붙인 정책(예: 없는 해시 주소의 404 에 immutable)이 남지 않도록 no-store
+public class CacheHeaderInterceptor implements HandlerInterceptor {
+
+    // VersionResourceResolver(내용 해시 전략)가 파일 이름에 붙이는 해시: "-" + MD5(32자리 16진수)
+    private static final Pattern FINGERPRINT = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
+    private final String fingerprintedCacheControl;
+    private final boolean precompressed;
+
+    // staticMaxAge: 해시가 붙은 정적 리소스를 보관할 기간
+    // precompressed: 미리 압축된 정적 리소스를 사용하는지 (spring.web.resources.chain.compressed)
+    public CacheHeaderInterceptor(Duration staticMaxAge, boolean precompressed) {
+        // 스프링 5.3 의 CacheControl 에는 immutable 지시자가 없으므로 직접 덧붙임
+        this.fingerprintedCacheControl = CacheControl.maxAge(staticMaxAge.getSeconds(), TimeUnit.SECONDS)
+                .cachePublic()
+                .getHeaderValue() + ", immutable";
+        this.precompressed = precompressed;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ERROR) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        } else if (handler instanceof ResourceHttpRequestHandler) {
+            String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+            boolean fingerprinted = path != null && FINGERPRINT.matcher(path).find();
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    fingerprinted ? fingerprintedCacheControl : CacheControl.noCache().getHeaderValue());
+            if (precompressed)
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        } else if (request.getRequestURI().startsWith(request.getContextPath() + "/api/")) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return true;
+    }
+
+    // 뷰를 렌더링하기 전에 호출됨 (ResponseEntity 로 직접 응답한 경우에는 이미 헤더가 정해져 있음)
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (handler instanceof HandlerMethod && modelAndView != null && !response.containsHeader(HttpHeaders.CACHE_CONTROL))
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+    }
+}
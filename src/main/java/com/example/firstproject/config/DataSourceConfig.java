@@ -0,0 +1,105 @@
+package com.example.firstproject.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 복제본(datasource.replica.urls)이 설정된 경우에만 동작
+// spring.datasource.* 로 만든 primary 와 복제본들을 ReplicaRoutingDataSource 로 묶어 기본 DataSource 로 등록
+// (설정하지 않으면 스프링 부트가 만든 DataSource 하나만 사용)
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class DataSourceConfig implements DisposableBean {
+
+    @Value("${datasource.replica.urls}")
+    private String[] urls;
+
+    // 복제본의 사용자 이름과 비밀번호, 지정하지 않으면 primary 와 같은 값을 사용
+    @Value("${datasource.replica.username:}")
+    private String username;
+
+    @Value("${datasource.replica.password:}")
+    private String password;
+
+    // 복제본마다 만들 커넥션 수
+    @Value("${datasource.replica.pool.max-size:10}")
+    private int maxPoolSize;
+
+    // 허용할 최대 복제 지연, 이보다 뒤처진 복제본은 사용하지 않음
+    @Value("${datasource.replica.max-lag-ms:1000}")
+    private long maxLagMs;
+
+    // 복제 지연(ms)을 반환하는 쿼리, 비어 있으면 연결 가능 여부만 확인
+    @Value("${datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    @Value("${datasource.replica.health-check-interval-ms:1000}")
+    private long healthCheckIntervalMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    // 쓰기와 읽기/쓰기 트랜잭션이 사용하는 primary (spring.datasource.*, spring.datasource.hikari.* 설정 사용)
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // JPA, JdbcTemplate 등이 사용하는 기본 DataSource
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, DataSourceProperties properties) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maxPoolSize);
+            replica.setReadOnly(true);
+            // 복제본이 꺼져 있어도 애플리케이션은 시작되도록 (상태 확인에서 사용 불가로 표시됨)
+            replica.setInitializationFailTimeout(-1);
+            // 복제본 풀은 빈이 아니므로 커넥션 풀 지표(hikaricp.connections.*, pool=replica-N)를 직접 등록
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(replica.getPoolName(), replica));
+        }
+        routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMs, lagQuery, healthCheckIntervalMs);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // 기본 설정에서 Hibernate 는 한 번 얻은 커넥션을 세션(open-in-view 라면 요청 전체)이 끝날 때까지 붙잡으므로,
+    // 같은 요청의 다음 트랜잭션이 앞 트랜잭션의 커넥션(예: 복제본)을 그대로 쓰게 됨
+    // 트랜잭션이 끝날 때마다 커넥션을 반납하여, 트랜잭션마다 primary/복제본을 다시 고르도록 함
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (routingDataSource != null)
+            routingDataSource.close();
+    }
+}
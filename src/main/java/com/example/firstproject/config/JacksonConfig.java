@@ -0,0 +1,49 @@
+package com.example.firstproject.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// API 요청/응답 직렬화 설정
+// 기본 형식은 JSON 이고, 서비스 간 호출처럼 트래픽이 많은 클라이언트는 Accept/Content-Type 으로
+// 바이너리 형식인 CBOR(application/cbor) 또는 Smile(application/x-jackson-smile)을 고를 수 있음
+// (텍스트 인코딩/파싱이 없고 본문이 작아짐)
+@Configuration
+public class JacksonConfig {
+
+    // 게시글/댓글 DTO 의 getter, 생성자를 리플렉션 대신 바이트코드로 생성한 접근자(LambdaMetafactory)로 호출
+    // 모듈 빈은 스프링 부트가 ObjectMapper 에 등록하므로, 컨트롤러/컨버터가 쓰는 ObjectMapper 모두에 적용됨
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // 스프링 부트의 기본 JSON 컨버터 대신, 응답 타입별 ObjectWriter 를 재사용하는 컨버터를 등록
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new WriterCachingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    // CBOR, Smile 컨버터
+    // 스프링이 기본으로 만드는 컨버터는 설정이 없는 ObjectMapper 를 사용하므로,
+    // 스프링 부트의 Jackson2ObjectMapperBuilder(spring.jackson.* 설정, 모듈 빈)로 JSON 과 같은 설정의 ObjectMapper 를 만들어 사용
+    // (Jackson2ObjectMapperBuilder 빈은 주입받을 때마다 새로 만들어짐)
+    // 컨버터 목록에서 JSON 컨버터 뒤에 놓이므로, Accept 가 없거나 */* 이면 계속 JSON 으로 응답
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
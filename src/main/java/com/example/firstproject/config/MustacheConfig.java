@@ -0,0 +1,46 @@
+package com.example.firstproject.config;
+
+import com.example.firstproject.view.MustacheTemplateRegistry;
+import com.example.firstproject.view.PrecompiledMustacheView;
+import com.samskivert.mustache.Mustache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mustache.MustacheProperties;
+import org.springframework.boot.web.servlet.view.MustacheViewResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.view.AbstractUrlBasedView;
+
+@Configuration
+public class MustacheConfig {
+
+    // 스트리밍 렌더링 시 몇 건마다 응답을 클라이언트로 내보낼지 (0 이면 스트리밍하지 않음)
+    @Value("${mustache.streaming.flush-interval:100}")
+    private int flushInterval;
+
+    // 스프링 부트가 등록하는 MustacheViewResolver 대신, 컴파일된 템플릿을 재사용하는 뷰를 만드는 리졸버를 등록
+    // 설정(spring.mustache.*)과 우선순위는 스프링 부트의 것과 동일하게 적용
+    @Bean
+    public MustacheViewResolver mustacheViewResolver(Mustache.Compiler compiler,
+                                                     MustacheProperties mustacheProperties,
+                                                     MustacheTemplateRegistry registry) {
+        MustacheViewResolver resolver = new MustacheViewResolver(compiler) {
+            @Override
+            protected Class<?> requiredViewClass() {
+                return PrecompiledMustacheView.class;
+            }
+
+            @Override
+            protected AbstractUrlBasedView buildView(String viewName) throws Exception {
+                PrecompiledMustacheView view = (PrecompiledMustacheView) super.buildView(viewName);
+                view.setRegistry(registry);
+                view.setTemplateName(viewName);
+                view.setFlushInterval(flushInterval);
+                return view;
+            }
+        };
+        mustacheProperties.applyToMvcViewResolver(resolver);
+        resolver.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return resolver;
+    }
+}
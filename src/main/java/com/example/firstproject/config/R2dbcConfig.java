@@ -0,0 +1,55 @@
+package com.example.firstproject.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+public class R2dbcConfig implements DisposableBean {
+
+    @Value("${spring.r2dbc.url}")
+    private String url;
+
+    @Value("${spring.r2dbc.username:}")
+    private String username;
+
+    @Value("${spring.r2dbc.password:}")
+    private String password;
+
+    // 논블로킹 조회에 사용할 커넥션 수 (JDBC 커넥션 풀과는 별도)
+    @Value("${spring.r2dbc.pool.max-size:10}")
+    private int maxSize;
+
+    private ConnectionPool connectionPool;
+
+    // 논블로킹 조회용 DatabaseClient
+    // ConnectionFactory 를 빈으로 등록하지 않아야 JDBC DataSource 자동 설정이 그대로 동작하므로 커넥션 풀은 이 안에서만 사용
+    // (R2dbcEntityTemplate 등 Spring Data R2DBC 빈은 이 DatabaseClient 를 사용하여 자동으로 만들어짐)
+    @Bean
+    public DatabaseClient databaseClient() {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty())
+            options.option(ConnectionFactoryOptions.USER, username);
+        if (!password.isEmpty())
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .maxSize(maxSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    // 애플리케이션 종료 시 커넥션 풀 정리
+    @Override
+    public void destroy() {
+        if (connectionPool != null)
+            connectionPool.dispose();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.firstproject.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제본(replica)으로, 나머지는 primary 로 보내는 DataSource
+// 읽기 전용이라도 forcePrimary 로 표시된 스레드(@ReadFromPrimary 메서드 실행 중)는 primary 에서 읽음
+// 복제본은 돌아가며(round-robin) 사용하고, 주기적으로 상태를 확인하여
+// 연결할 수 없거나 복제 지연(lag)이 max-lag-ms 를 넘는 복제본은 건너뜀 (사용할 복제본이 없으면 primary 에서 읽음)
+//
+// 트랜잭션이 시작되는 시점에는 아직 readOnly 여부가 TransactionSynchronizationManager 에 기록되지 않으므로,
+// LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리를 실행할 때 커넥션을 고르도록 해야 함 (DataSourceConfig)
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    // 복제본 하나와 마지막으로 확인한 상태
+    static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy; // 처음 상태를 확인하기 전에는 사용하지 않음
+        private volatile long lagMs;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    // 현재 스레드의 조회를 primary 로 보낼지 (ReadFromPrimaryAspect)
+    private static final ThreadLocal<Boolean> primaryForced = new ThreadLocal<>();
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(primaryForced.get());
+    }
+
+    public static void forcePrimary(boolean forced) {
+        if (forced)
+            primaryForced.set(Boolean.TRUE);
+        else
+            primaryForced.remove();
+    }
+
+    // lagQuery: 복제 지연(ms)을 반환하는 쿼리, 비어 있으면 연결 가능 여부만 확인
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                    long maxLagMs, String lagQuery, long healthCheckIntervalMs) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery;
+
+        checkReplicas();
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas,
+                healthCheckIntervalMs, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Replica replica = (readOnly && !isPrimaryForced()) ? pick() : null;
+        if (replica == null)
+            return primary.getConnection();
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            // 다음 상태 확인까지 이 복제본은 건너뛰고, 이번 조회는 primary 에서 처리
+            markDown(replica, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    // 사용할 수 있는 복제본을 돌아가며 선택, 없으면 null
+    private Replica pick() {
+        int size = replicas.size();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), size));
+            if (replica.healthy && replica.lagMs <= maxLagMs)
+                return replica;
+        }
+        return null;
+    }
+
+    // 모든 복제본의 연결 가능 여부와 복제 지연을 확인
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                long lagMs = 0;
+                if (!lagQuery.isEmpty()) {
+                    try (Statement statement = connection.createStatement();
+                         ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                        lagMs = resultSet.next() ? resultSet.getLong(1) : 0;
+                    }
+                }
+                markUp(replica, lagMs);
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    private void markUp(Replica replica, long lagMs) {
+        boolean wasAvailable = replica.healthy && replica.lagMs <= maxLagMs;
+        replica.lagMs = lagMs;
+        replica.healthy = true;
+        if (lagMs > maxLagMs && wasAvailable)
+            log.warn("복제본의 지연이 너무 커서 primary 에서 읽습니다! 복제본: {}, 지연: {} ms", replica.name, lagMs);
+        else if (lagMs <= maxLagMs && !wasAvailable)
+            log.info("복제본 사용 가능! 복제본: {}, 지연: {} ms", replica.name, lagMs);
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.healthy)
+            log.warn("복제본에 연결할 수 없어 primary 에서 읽습니다! 복제본: {}, 원인: {}", replica.name, e.getMessage());
+        replica.healthy = false;
+    }
+
+    // 상태 확인을 멈추고 복제본 커넥션 풀을 닫음 (primary 는 스프링 빈이므로 스프링이 닫음)
+    @Override
+    public void close() throws IOException {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable)
+                ((Closeable) replica.dataSource).close();
+        }
+    }
+}
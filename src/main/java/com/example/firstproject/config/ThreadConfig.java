@@ -0,0 +1,100 @@
+package com.example.firstproject.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+public class ThreadConfig {
+
+    // 요청을 처리할 스레드 종류
+    // PLATFORM: Tomcat 의 기본 스레드 풀 (server.tomcat.threads.max, 기본 200개)
+    // VIRTUAL: 요청마다 가상 스레드를 하나씩 생성 (Java 21 이상에서만 동작)
+    public enum Mode { PLATFORM, VIRTUAL }
+
+    // 컨트롤러부터 리포지토리(JDBC) 호출까지 모두 요청 스레드에서 실행되므로,
+    // Tomcat 의 실행기(executor)만 바꾸면 요청 처리 전체가 선택한 스레드에서 동작함
+    // 가상 스레드를 만들 수 없는 JDK(17 등)에서는 경고를 남기고 PLATFORM 으로 동작
+    @Value("${request-execution.mode:PLATFORM}")
+    private Mode mode;
+
+    // MVC 비동기 실행기의 스레드 수와 대기열 크기
+    @Value("${request-execution.async.threads:64}")
+    private int asyncThreads;
+
+    @Value("${request-execution.async.queue-capacity:10000}")
+    private int asyncQueueCapacity;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> requestExecutorCustomizer() {
+        return protocolHandler -> {
+            if (mode != Mode.VIRTUAL)
+                return;
+
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor == null) {
+                log.warn("가상 스레드를 지원하지 않는 JDK 입니다({}). 기본 스레드 풀로 요청을 처리합니다.", Runtime.version());
+                return;
+            }
+            // 요청마다 가상 스레드가 생기므로 동시 요청 수는 스레드 수가 아니라
+            // 커넥션 수(server.tomcat.max-connections)와 DB 커넥션 풀(spring.datasource.hikari.maximum-pool-size)이 제한함
+            protocolHandler.setExecutor(executor);
+            log.info("가상 스레드로 요청을 처리합니다.");
+        };
+    }
+
+    // Flux 를 반환하는 컨트롤러(/api/reactive/**)의 응답을 쓰는 MVC 비동기 실행기 (WebConfig 에서 등록)
+    // 스프링 MVC 는 Flux 의 원소마다 이 실행기에서 블로킹 방식으로 응답을 쓰므로,
+    // 응답을 늦게 받는 클라이언트는 쓰기가 끝날 때까지 실행기의 스레드 하나를 붙잡음
+    // 스프링 부트의 기본 실행기(applicationTaskExecutor, 8개 스레드와 무제한 대기열)를 쓰면
+    // 느린 클라이언트 몇 개가 모든 스트림을 멈추게 하므로, 크기를 정한 전용 실행기를 사용
+    // 동시에 응답을 쓸 수 있는 스트림은 request-execution.async.threads 개까지이고, 대기열이 가득 차면 새 쓰기는 거절됨
+    // (요청 처리가 가상 스레드(VIRTUAL)여도 이 실행기는 플랫폼 스레드를 사용:
+    //  Tomcat 의 블로킹 쓰기를 기다리는 동안 가상 스레드가 캐리어 스레드에 고정(pinning)될 수 있음)
+    @Bean
+    public AsyncTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(asyncThreads);
+        executor.setMaxPoolSize(asyncThreads);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        return executor;
+    }
+
+    // 가상 스레드를 지원하는 JDK 인지 확인
+    public static boolean isVirtualThreadSupported() {
+        return findVirtualThreadFactoryMethod() != null;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() 를 호출하여 실행기 생성, 지원하지 않으면 null
+    // 빌드 대상이 Java 17 이므로 직접 호출하지 않고 리플렉션으로 찾아서 호출
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        Method method = findVirtualThreadFactoryMethod();
+        if (method == null)
+            return null;
+        try {
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Java 19, 20 처럼 미리보기(preview) 기능이 꺼진 경우
+            log.warn("가상 스레드 실행기 생성 실패!", e);
+            return null;
+        }
+    }
+
+    private static Method findVirtualThreadFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.firstproject.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+// 응답 캐시 헤더 정책 등록 (CacheHeaderInterceptor)
+// Flux 응답을 쓰는 MVC 비동기 실행기 등록 (ThreadConfig.mvcAsyncExecutor)
+// 응답 압축(server.compression.*)과 정적 리소스 체인(spring.web.resources.chain.*)은 application.properties 에서 설정
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // 내용 해시가 붙은 정적 리소스를 브라우저/CDN 이 보관할 기간
+    @Value("${web.cache.static-max-age:365d}")
+    private Duration staticMaxAge;
+
+    @Value("${spring.web.resources.chain.compressed:false}")
+    private boolean precompressed;
+
+    @Autowired
+    private AsyncTaskExecutor mvcAsyncExecutor;
+
+    // 정적 리소스 핸들러에도 인터셉터가 적용되므로 모든 경로에 등록
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CacheHeaderInterceptor(staticMaxAge, precompressed));
+    }
+
+    // 스프링 부트의 설정(@Order(0))보다 뒤에 적용되므로 이 실행기가 사용됨
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.firstproject.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.TypeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 응답 타입별로 만든 ObjectWriter 를 재사용하는 JSON 메시지 컨버터
+// 기본 컨버터는 응답마다 ObjectWriter 를 새로 만들고 루트 타입의 serializer 를 다시 찾으므로,
+// 타입마다 한 번만 writerFor(타입)으로 만들어(serializer 를 미리 찾아 둔 상태) 보관해 두고 사용
+// 본문은 응답 스트림(HttpOutputMessage.getBody())에 바로 기록하므로 전체 본문을 메모리에 모으지 않음
+//
+// JsonView/필터(MappingJacksonValue), SSE 처럼 응답마다 설정이 달라지는 경우는 기본 컨버터의 처리를 그대로 사용
+public class WriterCachingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ConcurrentMap<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public WriterCachingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (object instanceof MappingJacksonValue ||
+                (contentType != null && contentType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM))) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ObjectWriter writer = writerFor(object, type);
+        OutputStream outputStream = StreamUtils.nonClosing(outputMessage.getBody());
+        JsonEncoding encoding = getJsonEncoding(contentType);
+        try (JsonGenerator generator = writer.createGenerator(outputStream, encoding)) {
+            writer.writeValue(generator, object);
+            generator.flush();
+        } catch (InvalidDefinitionException e) {
+            throw new HttpMessageConversionException("Type definition error: " + e.getType(), e);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    // 기본 컨버터와 같은 규칙으로 직렬화할 타입을 정함
+    // 컬렉션/Optional 처럼 원소 타입이 필요한 경우에는 선언된 타입(예: List<CommentDto>), 그 외에는 실제 객체의 클래스
+    private ObjectWriter writerFor(Object object, Type type) {
+        JavaType javaType = null;
+        if (type != null && TypeUtils.isAssignable(type, object.getClass()))
+            javaType = getJavaType(type, null);
+        if (javaType == null || !(javaType.isContainerType() || javaType.isTypeOrSubTypeOf(Optional.class)))
+            javaType = getObjectMapper().constructType(object.getClass());
+        return writers.computeIfAbsent(javaType, key -> getObjectMapper().writerFor(key));
+    }
+}
@@ -1,20 +1,32 @@
 package com.example.firstproject.controller;
 
+import com.example.firstproject.dto.ArticleDetail;
 import com.example.firstproject.dto.ArticleForm;
+import com.example.firstproject.dto.ArticleSummary;
 import com.example.firstproject.dto.CommentDto;
 import com.example.firstproject.entity.Article;
 import com.example.firstproject.repository.ArticleRepository;
+import com.example.firstproject.service.ArticleService;
 import com.example.firstproject.service.CommentService;
+import com.example.firstproject.view.ArticlePageCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @Slf4j // 로깅을 위한 골뱅이(애노테이션) (서버에서 일어나는 일들을 실시간으로 기록)
@@ -23,9 +35,18 @@ public class ArticleController {
     @Autowired // 스프링 부트가 미리 생성해놓은 객체를 가져다가 자동 연결!
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private ArticleService articleService;
+
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private ArticlePageCache articlePageCache;
+
+    // 직접 렌더링한 HTML 응답의 Content-Type
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
     @GetMapping("/articles/new")
     public String newArticleForm() {
         return "articles/new";
@@ -33,40 +54,58 @@ public class ArticleController {
 
     // post 방식으로 /articles/create 로 매핑
     @PostMapping("/articles/create")
-    public String createArticle(ArticleForm form) {
-        // 1. Dto 를 변환! Entity!
-        Article article = form.toEntity();
-
-        // 2. Repository 에게 Entity 를 DB 안에 저장하게 함!
-        Article saved = articleRepository.save(article);
+    public String createArticle(ArticleForm form, RedirectAttributes rttr) {
+        // 1. 서비스에게 저장을 위임! (Dto -> Entity 변환, DB 저장, 검색 색인 반영)
+        Article saved = articleService.create(form);
+
+        // 2. 저장되지 않았다면(폼에 id 가 담겨 온 경우) 메시지와 함께 작성 폼으로 돌아감
+        if (saved == null) {
+            rttr.addFlashAttribute("msg", "게시글 생성 실패! 새 게시글에는 id가 없어야 합니다.");
+            return "redirect:/articles/new";
+        }
 
         // 3. /articles/{id} 로 리다이렉트
         return "redirect:/articles/" + saved.getId();
     }
 
     // 게시글 상세보기
+    // 렌더링된 페이지는 ArticlePageCache 에 보관되어, 게시글과 댓글이 바뀌기 전까지는 다시 렌더링하지 않음
+    // 내용 버전을 ETag 로, 렌더링 시각을 Last-Modified 로 보내므로 다시 방문한 브라우저는 304(Not Modified)를 받음
     @GetMapping("/articles/{id}")
-    public String show(@PathVariable Long id, Model model) {
-        // 1. id로 데이터를 가져옴!
-        Article articleEntity = articleRepository.findById(id).orElse(null);
+    public ResponseEntity<String> show(@PathVariable Long id, HttpServletRequest request) {
+        // 1. id로 데이터를 가져옴! (캐시를 거치도록 서비스에게 위임)
+        ArticleDetail articleDetail = articleService.detail(id);
         List<CommentDto> commentDtos = commentService.comments(id);
 
-        // 2. 가져온 데이터를 모델에 등록!
-        model.addAttribute("articles", articleEntity);
-        model.addAttribute("commentDtos", commentDtos);
+        // 2. 리다이렉트로 전달된 플래시 메시지가 있다면 요청마다 내용이 달라지므로 캐시 없이 렌더링
+        Map<String, ?> flashAttributes = RequestContextUtils.getInputFlashMap(request);
+        if (flashAttributes != null && !flashAttributes.isEmpty()) {
+            ArticlePageCache.RenderedPage page = articlePageCache.render(id, articleDetail, commentDtos, flashAttributes);
+            return ResponseEntity.status(HttpStatus.OK)
+                    .contentType(TEXT_HTML_UTF8)
+                    .body(page.getHtml());
+        }
 
-        // 3. 보여줄 페이지를 설정!
-        return "articles/show";
+        // 3. 렌더링된 페이지를 가져와 응답! (If-None-Match / If-Modified-Since 가 일치하면 스프링 MVC 가 304 로 응답)
+        // no-cache: 브라우저가 보관은 하되, 사용할 때마다 서버에 변경 여부를 확인하도록 함
+        ArticlePageCache.RenderedPage page = articlePageCache.get(id, articleDetail, commentDtos);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(page.getETag())
+                .lastModified(page.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .contentType(TEXT_HTML_UTF8)
+                .body(page.getHtml());
     }
 
     // 해당 메서드는 모든 게시글을 가져와서 뷰로 전달하는 기능을 구현
     @GetMapping("/articles")
+    // 목록 전체를 한 번에 조회하지 않고, 렌더링하면서 한 페이지씩 조회하여 바로 응답으로 내보냄 (PrecompiledMustacheView 참고)
     public String index(Model model) {
-        // 1. 모든 Article 을 가져온다!
-        List<Article> articleEntityList = articleRepository.findAll();
+        // 1. 모든 Article 을 가져온다! (순회할 때 한 페이지씩 조회)
+        Iterable<ArticleSummary> articleSummaryList = articleService.iterateAll();
 
         // 2. 가져온 Article 묶음을 뷰로 전달!
-        model.addAttribute("articleList" ,articleEntityList);
+        model.addAttribute("articleList" ,articleSummaryList);
 
         // 3. 뷰 페이지를 설정!
         return "articles/index"; // articles/index.mustache
@@ -91,14 +130,9 @@ public class ArticleController {
         // 1. DTO 를 엔티티로 변환한다!
         Article articleEntity = form.toEntity();
 
-        // 2. 엔티티를 DB로 저장한다!
-        // 2-1. DB 에서 기존 데이터를 가져온다!
-        Article target = articleRepository.findById(articleEntity.getId()).orElse(null);
-
-        // 2-2. 기존 데이터에 값을 갱신한다!
-        if (target != null) {
-            articleRepository.save(articleEntity); // 엔티티가 DB로 갱신!
-        }
+        // 2. 엔티티를 DB로 갱신한다!
+        // 기존 데이터 조회와 갱신, 캐시 제거는 서비스에게 위임 (대상이 없으면 아무것도 하지 않음)
+        articleService.update(articleEntity.getId(), form);
 
         // 3. 수정 결과 페이지로 리다이렉트 한다!
         return "redirect:/articles/" + articleEntity.getId();
@@ -107,12 +141,11 @@ public class ArticleController {
     // 해당 메서드는 게시글을 삭제한 후 결과 페이지로 리다이렉트하는 기능을 구현
     @GetMapping("/articles/{id}/delete")
     public String delete(@PathVariable Long id, RedirectAttributes rttr) {
-        // 1. 삭제 대상을 가져온다!
-        Article target = articleRepository.findById(id).orElse(null);
+        // 1. 삭제 대상을 가져와 삭제한다! (캐시 제거까지 서비스에게 위임)
+        Article target = articleService.delete(id);
 
-        // 2. 그 대상을 삭제한다!
+        // 2. 삭제 결과를 알린다!
         if (target != null) {
-            articleRepository.delete(target);
             rttr.addFlashAttribute("msg", "삭제가 완료 되었습니다.");
         }
 
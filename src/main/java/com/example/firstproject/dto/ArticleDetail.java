@@ -0,0 +1,39 @@
+package com.example.firstproject.dto;
+
+import com.example.firstproject.entity.Article;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// 게시글 하나를 응답할 때 사용하는 읽기 전용 DTO (상세 페이지, /api/articles/{id})
+// 조회는 JPQL 생성자 표현식으로 바로 만들고, 캐시(articles)에도 엔티티 대신 이 값을 보관
+// 수정할 수 없는 값이므로 여러 요청이 같은 객체를 공유해도 안전함
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticleDetail {
+    private Long id;
+    private String title;
+    private String content;
+
+    // 게시글의 버전 (수정할 때 If-Match 헤더에 담아 보내면, 그 사이 다른 수정이 있었는지 확인할 수 있음)
+    @ToString.Exclude
+    private Long version;
+
+    private Long commentCount; // 댓글 수
+    private LocalDateTime lastCommentedAt; // 마지막으로 댓글이 달린 시각
+
+    // 생성/수정한 엔티티를 응답용 DTO 로 변환
+    public static ArticleDetail createArticleDetail(Article article) {
+        return new ArticleDetail(
+                article.getId(),
+                article.getTitle(),
+                article.getContent(),
+                article.getVersion(),
+                article.getCommentCount(),
+                article.getLastCommentedAt()
+        );
+    }
+}
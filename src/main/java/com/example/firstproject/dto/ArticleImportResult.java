@@ -0,0 +1,44 @@
+package com.example.firstproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 게시글 대량 등록(import) 결과
+// 전체 요청 건수, 실제로 저장된 건수, 그리고 실패한 청크(chunk)별 정보를 담는다
+@Getter
+@ToString
+public class ArticleImportResult {
+
+    private int requested; // 요청된 게시글 수
+    private int imported; // 저장에 성공한 게시글 수
+    private List<ChunkError> errors = new ArrayList<>(); // 실패한 청크 목록
+
+    public ArticleImportResult(int requested) {
+        this.requested = requested;
+    }
+
+    // 청크 하나가 커밋되면 저장 건수를 누적
+    public void chunkImported(int count) {
+        this.imported += count;
+    }
+
+    // 청크 하나가 실패하면(롤백되면) 실패 정보를 기록
+    public void chunkFailed(int chunk, int from, int to, String message) {
+        this.errors.add(new ChunkError(chunk, from, to, message));
+    }
+
+    // 실패한 청크의 정보: 몇 번째 청크인지, 요청 목록의 어느 범위[from, to)인지, 실패 사유
+    @AllArgsConstructor
+    @Getter
+    @ToString
+    public static class ChunkError {
+        private int chunk;
+        private int from;
+        private int to;
+        private String message;
+    }
+}
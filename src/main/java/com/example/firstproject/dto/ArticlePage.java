@@ -0,0 +1,18 @@
+package com.example.firstproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// 커서(keyset) 기반 페이지 조회 결과
+// 현재 페이지의 게시글 목록과, 다음 페이지를 요청할 때 사용할 커서를 함께 담는다
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticlePage {
+
+    private List<ArticleSummary> articles; // 현재 페이지의 게시글 목록
+    private Long nextCursor; // 다음 페이지 요청 시 after 로 넘길 값, 마지막 페이지라면 null
+}
@@ -0,0 +1,21 @@
+package com.example.firstproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// 게시글 목록(목록 페이지, /api/articles, 검색 결과)에 담는 게시글 요약
+// JPQL 생성자 표현식(SELECT new ...)으로 바로 조회하므로 엔티티가 영속성 컨텍스트에 올라가지 않음
+// (스냅샷 보관, 변경 감지, 커밋 시 flush 대상이 되지 않음)
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticleSummary {
+    private Long id;
+    private String title;
+    private String content;
+    private Long commentCount; // 댓글 수
+    private LocalDateTime lastCommentedAt; // 마지막으로 댓글이 달린 시각
+}
@@ -19,6 +19,15 @@ public class CommentDto {
     private String nickname; // 댓글 작성자의 닉네임
     private String body; // 댓글의 내용
 
+    // 댓글의 버전 (수정할 때 If-Match 헤더에 담아 보내면, 그 사이 다른 수정이 있었는지 확인할 수 있음)
+    @ToString.Exclude
+    private Long version;
+
+    // 버전 없이 생성 (요청 본문으로 받은 댓글, 버전 조회가 필요 없는 경우)
+    public CommentDto(Long id, Long articleId, String nickname, String body) {
+        this(id, articleId, nickname, body, null);
+    }
+
     // 엔티티를 DTO 로 변환하는 이유는 주로 데이터 전송이나 데이터 표현의 목적
     // DTO 를 사용하여 엔티티의 필요한 데이터만 전송하거나 특정 형식으로 변환하여 클라이언트에게 전달할 수 있음
 
@@ -29,7 +38,8 @@ public class CommentDto {
                 comment.getId(),
                 comment.getArticle().getId(),
                 comment.getNickname(),
-                comment.getBody()
+                comment.getBody(),
+                comment.getVersion()
         );
     }
 }
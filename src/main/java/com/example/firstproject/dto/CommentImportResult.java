@@ -0,0 +1,58 @@
+package com.example.firstproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 댓글 대량 등록(import) 결과
+// 받은 댓글 수, 저장된 수, 검증에서 걸러진 수와 함께 실패 정보를 담는다
+// 본문을 끝까지 읽지 못했다면 읽지 못한 위치(unreadFrom)와 사유를 담는다 (그 위치부터 본문 끝까지는 처리되지 않음)
+@Getter
+@ToString
+public class CommentImportResult {
+
+    // 응답이 지나치게 커지지 않도록 기록할 실패 정보의 최대 개수
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private int received; // 요청 본문에서 읽은 댓글 수
+    private int imported; // 저장에 성공한 댓글 수
+    private int rejected; // 검증 실패 또는 청크 롤백으로 저장되지 않은 댓글 수
+    private List<RowError> errors = new ArrayList<>(); // 실패 정보 (최대 MAX_REPORTED_ERRORS 개)
+    private Integer unreadFrom; // 읽지 못한 첫 댓글의 순번, 본문을 끝까지 읽었다면 null
+    private String unreadReason; // 읽지 못한 사유 (예: JSON 형식 오류)
+
+    public void received(int count) {
+        this.received += count;
+    }
+
+    public void imported(int count) {
+        this.imported += count;
+    }
+
+    // 하나 이상의 댓글이 저장되지 않았음을 기록, index 는 요청 본문에서의 순번(0부터)
+    public void rejected(int index, int count, String message) {
+        this.rejected += count;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(index, count, message));
+        }
+    }
+
+    // index 번째 댓글부터 읽을 수 없어 본문의 나머지를 처리하지 않았음을 기록
+    public void unread(int index, String reason) {
+        this.unreadFrom = index;
+        this.unreadReason = reason;
+    }
+
+    // 실패 정보: 요청 본문에서 index 번째부터 count 개의 댓글이 message 사유로 저장되지 않음
+    @AllArgsConstructor
+    @Getter
+    @ToString
+    public static class RowError {
+        private int index;
+        private int count;
+        private String message;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.firstproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// 커서(keyset) 기반 댓글 페이지 조회 결과
+@AllArgsConstructor
+@Getter
+@ToString
+public class CommentPage {
+
+    private List<CommentDto> comments; // 현재 페이지의 댓글 목록
+    private Long nextCursor; // 다음 페이지 요청 시 after 로 넘길 값, 마지막 페이지라면 null
+}
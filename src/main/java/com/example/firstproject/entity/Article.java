@@ -1,14 +1,14 @@
 package com.example.firstproject.entity;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity // DB가 해당 객체를 인식 가능! (해당 클래스로 테이블을 만든다!)
-@AllArgsConstructor // 먜개변수 있는 생성자
 @NoArgsConstructor // 디폴트 생성자를 추가!
 @ToString
 @Getter
@@ -26,6 +26,37 @@ public class Article {
     @Column
     private String content;
 
+    // 낙관적 락(optimistic locking)을 위한 버전, 수정될 때마다 1씩 증가
+    // 동시에 같은 게시글을 수정하면 나중에 저장하는 쪽이 실패하므로 서로의 수정을 덮어쓰지 않음
+    // (data.sql 처럼 버전 없이 INSERT 한 행은 기본값 0)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @ToString.Exclude
+    private Long version;
+
+    // 댓글 수, 댓글이 생성/삭제될 때 UPDATE 문 한 번으로 증감 (ArticleRepository.incrementCommentCount 등)
+    // 목록을 보여줄 때 게시글마다 댓글을 세지 않아도 되도록 게시글에 함께 저장
+    // updatable = false: 게시글을 수정(merge)할 때 읽어둔 값으로 덮어써서 그 사이의 증감이 사라지지 않도록 UPDATE 대상에서 제외
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @ToString.Exclude
+    private Long commentCount = 0L;
+
+    // 마지막으로 댓글이 달린 시각 (댓글이 없으면 null)
+    // 댓글에는 작성 시각이 없으므로, 가장 최근 댓글이 삭제되어도 이전 댓글의 시각으로 되돌리지 않고 마지막 활동 시각으로 남겨 둠
+    // (삭제하면 댓글 수가 바뀌므로 게시글 ETag 는 달라짐, 댓글이 모두 삭제되면 null)
+    @Column(name = "last_commented_at", updatable = false)
+    @ToString.Exclude
+    private LocalDateTime lastCommentedAt;
+
+    // 먜개변수 있는 생성자 (버전은 JPA 가 관리하므로 제외)
+    public Article(Long id, String title, String content) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+    }
+
     // Article 객체를 이용하여 현재 객체의 title 과 content 값을 업데이트함.
     // 이때, 주어진 Article 객체의 title 과 content 필드가 null 이 아닌 경우에만 값을 업데이트함.
     public void patch(Article article) {
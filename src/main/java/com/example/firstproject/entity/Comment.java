@@ -1,17 +1,24 @@
 package com.example.firstproject.entity;
 
 import com.example.firstproject.dto.CommentDto;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
+import java.util.Locale;
 
 @Entity
+// 닉네임 검색과 게시글별 댓글 조회가 테이블 전체를 읽지 않도록 인덱스를 생성
+// (nickname_key, id), (article_id, id) 복합 인덱스는 조건 검색과 id 순 정렬/커서 페이징을 함께 처리
+@Table(indexes = {
+        @Index(name = "idx_comment_nickname", columnList = "nickname"),
+        @Index(name = "idx_comment_nickname_key_id", columnList = "nickname_key, id"),
+        @Index(name = "idx_comment_article_id_id", columnList = "article_id, id")
+})
 @Getter
 @ToString
-@AllArgsConstructor
 @NoArgsConstructor
 public class Comment {
     @Id
@@ -22,7 +29,9 @@ public class Comment {
 
     // @ManyToOne 애노테이션을 사용한 필드는 외래 키를 가진다, 이 외래 키는 매핑된 엔티티의 기본 키(Primary Key)를 참조
     // 즉, 하나의 Article 에 대해 여러 개의 댓글이 연결 (다대일 관계)
-    @ManyToOne
+    // 기본값(EAGER)이면 댓글을 조회할 때마다 게시글까지 추가로 조회하므로 지연 로딩(LAZY)으로 설정
+    // 게시글은 실제로 필드에 접근할 때 조회되며, getArticle().getId()는 추가 조회 없이 외래 키 값을 돌려줌
+    @ManyToOne(fetch = FetchType.LAZY)
     // @JoinColumn 애노테이션의 name 속성은 외래 키 컬럼의 이름을 지정
     // "article_id"라는 이름을 가진 외래 키 컬럼을 매핑, 이는 현재 엔티티의 외래 키 컬럼이 "article_id"라는 이름을 가지도록 설정하는 것을 의미
     @JoinColumn(name = "article_id") // "articleid" 컬럼에 Article의 대표값을 저장!
@@ -34,6 +43,47 @@ public class Comment {
     @Column
     private String body;
 
+    // 대소문자 구분 없는 닉네임 검색용 컬럼 (닉네임을 소문자로 바꾼 값)
+    // LOWER(nickname) 으로 검색하면 인덱스를 쓸 수 없으므로, 소문자 값을 따로 저장하고 인덱스를 건다
+    @Column(name = "nickname_key")
+    @ToString.Exclude
+    private String nicknameKey;
+
+    // 낙관적 락을 위한 버전, 수정될 때마다 1씩 증가 (버전 없이 INSERT 한 행은 기본값 0)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @ToString.Exclude
+    private Long version;
+
+    // write-behind 로 저장된 댓글의 키(UUID 문자열, 바로 저장된 댓글은 null)
+    // 저널을 다시 적용할 때 이미 저장된 댓글을 건너뛰는 데 사용 (CommentWriteBehind)
+    // 서버마다 따로 매기는 저널 id 와 달리 여러 서버 사이에서도 유일함
+    @Column(name = "journal_key", length = 36, unique = true, updatable = false)
+    @ToString.Exclude
+    private String journalKey;
+
+    // 검색용 컬럼(nicknameKey)은 닉네임에서 계산하고 버전은 JPA 가 관리하므로, 나머지 필드만 받는 생성자
+    public Comment(Long id, Article article, String nickname, String body) {
+        this.id = id;
+        this.article = article;
+        this.nickname = nickname;
+        this.body = body;
+        this.nicknameKey = toNicknameKey(nickname);
+    }
+
+    // 닉네임 검색에 사용하는 키로 변환 (소문자)
+    public static String toNicknameKey(String nickname) {
+        return (nickname != null) ? nickname.toLowerCase(Locale.ROOT) : null;
+    }
+
+    // 저장/수정 직전에 검색용 컬럼을 닉네임과 맞춰줌
+    @PrePersist
+    @PreUpdate
+    private void syncNicknameKey() {
+        this.nicknameKey = toNicknameKey(this.nickname);
+    }
+
     // CommentDto 와 Article 객체를 매개변수로 받아서 댓글을 생성하고 반환
     public static Comment createComment(CommentDto dto, Article article) {
         // 예외 발생
@@ -1,9 +1,24 @@
 package com.example.firstproject.repository;
 
+import com.example.firstproject.dto.ArticleDetail;
+import com.example.firstproject.dto.ArticleSummary;
 import com.example.firstproject.entity.Article;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 // 관리대상 엔티티, 관리대상 엔티티에서 대표값의 타입
 // CrudRepository 는 Spring Data JPA 에서 제공하는 인터페이스로,
@@ -14,4 +29,53 @@ public interface ArticleRepository extends CrudRepository<Article, Long> {
     // 이 메서드는 모든 Article 객체를 반환하는 메서드
     @Override
     ArrayList<Article> findAll();
+
+    // 커서(keyset) 기반 페이지 조회
+    // OFFSET 대신 "id > :after" 조건을 사용하므로, 뒤쪽 페이지로 갈수록 느려지지 않음 (PK 인덱스를 그대로 탐색)
+    // 가져올 개수는 pageable 의 size 로 제한
+    // 목록/상세 조회용 DTO 를 생성자 표현식으로 바로 조회
+    // 엔티티를 만들지 않으므로 영속성 컨텍스트에 쌓이지 않고, 변경 감지나 커밋 시 flush 대상이 되지 않음
+    @Query("SELECT new com.example.firstproject.dto.ArticleSummary(a.id, a.title, a.content, a.commentCount, a.lastCommentedAt) " +
+            "FROM Article a WHERE a.id > :after ORDER BY a.id")
+    List<ArticleSummary> findSummaryPage(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT new com.example.firstproject.dto.ArticleSummary(a.id, a.title, a.content, a.commentCount, a.lastCommentedAt) " +
+            "FROM Article a WHERE a.id IN :ids")
+    List<ArticleSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.firstproject.dto.ArticleDetail(a.id, a.title, a.content, a.version, a.commentCount, a.lastCommentedAt) " +
+            "FROM Article a WHERE a.id = :id")
+    Optional<ArticleDetail> findDetailById(@Param("id") Long id);
+
+    // 커서 이후의 모든 게시글을 JDBC 커서로 한 건씩 읽어오는 스트림
+    // 전체 결과를 메모리에 올리지 않도록 fetch size 만큼씩 DB 에서 가져옴
+    // 반드시 트랜잭션 안에서 사용하고, 사용 후에는 close 해야 함 (try-with-resources)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.firstproject.dto.ArticleSummary(a.id, a.title, a.content, a.commentCount, a.lastCommentedAt) " +
+            "FROM Article a WHERE a.id > :after ORDER BY a.id")
+    Stream<ArticleSummary> streamAfter(@Param("after") Long after);
+
+    // 주어진 id 들 중 실제로 존재하는 게시글의 id 만 조회
+    // 여러 id 를 IN 조건 하나로 확인하므로, 한 건씩 findById 하는 것보다 DB 왕복이 훨씬 적음
+    @Query("SELECT a.id FROM Article a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // 가장 큰 게시글 id (게시글이 없으면 0)
+    @Query("SELECT COALESCE(MAX(a.id), 0) FROM Article a")
+    Long findMaxId();
+
+    // 댓글 수를 1 늘리고 마지막 댓글 시각을 갱신
+    // 읽고-수정하고-저장하는 대신 UPDATE 문 하나로 증가시키므로, 동시에 댓글이 달려도 증가분이 사라지지 않음
+    // (벌크 UPDATE 는 @Version 을 올리지 않으므로, 댓글이 달려도 게시글 수정(If-Match)과 충돌하지 않음)
+    @Modifying
+    @Query("UPDATE Article a SET a.commentCount = a.commentCount + 1, a.lastCommentedAt = :at WHERE a.id = :id")
+    int incrementCommentCount(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    // 댓글 수를 1 줄이고, 마지막 댓글이 삭제되어 댓글이 없어지면 마지막 댓글 시각도 비움
+    // 댓글이 남아 있다면 마지막 댓글 시각은 그대로 둠 (Article.lastCommentedAt 참고)
+    @Modifying
+    @Query("UPDATE Article a SET a.commentCount = a.commentCount - 1, " +
+            "a.lastCommentedAt = CASE WHEN a.commentCount <= 1 THEN NULL ELSE a.lastCommentedAt END " +
+            "WHERE a.id = :id AND a.commentCount > 0")
+    int decrementCommentCount(@Param("id") Long id);
 }
@@ -1,8 +1,11 @@
 package com.example.firstproject.repository;
 
+import com.example.firstproject.dto.CommentDto;
 import com.example.firstproject.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -27,4 +30,36 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     // 특정 닉네임의 모든 댓글 조회
     List<Comment> findByNickname(String nickname);
+
+    // 특정 게시글의 모든 댓글을 엔티티 대신 CommentDto 로 바로 조회
+    // 생성자 표현식(SELECT new ...)을 사용하면 comment 테이블의 컬럼(article_id 포함)만 읽으므로
+    // Article 을 전혀 조회하지 않고, 영속성 컨텍스트에 엔티티도 남기지 않음
+    @Query("SELECT new com.example.firstproject.dto.CommentDto(c.id, c.article.id, c.nickname, c.body, c.version) " +
+            "FROM Comment c " +
+            "WHERE c.article.id = :articleId " +
+            "ORDER BY c.id")
+    List<CommentDto> findDtosByArticleId(@Param("articleId") Long articleId);
+
+    // 특정 닉네임의 모든 댓글을 CommentDto 로 바로 조회
+    @Query("SELECT new com.example.firstproject.dto.CommentDto(c.id, c.article.id, c.nickname, c.body, c.version) " +
+            "FROM Comment c " +
+            "WHERE c.nickname = :nickname " +
+            "ORDER BY c.id")
+    List<CommentDto> findDtosByNickname(@Param("nickname") String nickname);
+
+    // 닉네임(대소문자 무시)이 일치하는 댓글을 커서(after) 이후부터 size 개 조회
+    // (nickname_key, id) 인덱스 하나로 조건 검색과 id 순 정렬을 모두 처리
+    @Query("SELECT new com.example.firstproject.dto.CommentDto(c.id, c.article.id, c.nickname, c.body, c.version) " +
+            "FROM Comment c " +
+            "WHERE c.nicknameKey = :key AND c.id > :after " +
+            "ORDER BY c.id")
+    List<CommentDto> findPageByNicknameKey(@Param("key") String key, @Param("after") Long after, Pageable pageable);
+
+    // 닉네임(대소문자 무시)이 주어진 값으로 시작하는 댓글을 커서(after) 이후부터 size 개 조회
+    // LIKE 'abc%' 처럼 앞부분이 고정된 패턴이므로 nickname_key 인덱스의 범위 검색을 사용
+    @Query("SELECT new com.example.firstproject.dto.CommentDto(c.id, c.article.id, c.nickname, c.body, c.version) " +
+            "FROM Comment c " +
+            "WHERE c.nicknameKey LIKE :pattern ESCAPE '!' AND c.id > :after " +
+            "ORDER BY c.id")
+    List<CommentDto> findPageByNicknameKeyLike(@Param("pattern") String pattern, @Param("after") Long after, Pageable pageable);
 }
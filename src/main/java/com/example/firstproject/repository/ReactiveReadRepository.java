@@ -0,0 +1,49 @@
+package com.example.firstproject.repository;
+
+import com.example.firstproject.dto.ArticleSummary;
+import com.example.firstproject.dto.CommentDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+// R2DBC 로 게시글/댓글을 논블로킹으로 읽어오는 조회 전용 저장소
+// JPA 리포지토리(ArticleRepository, CommentRepository)와 같은 테이블을 읽지만 JDBC 커넥션이나 스레드를 붙잡지 않음
+// 결과는 Flux 로 한 건씩 흘려보내며, 구독자가 요청(request)한 만큼만 DB 에서 가져옴 (back-pressure)
+// 쓰기는 기존처럼 JPA/JDBC 로만 처리
+@Repository
+public class ReactiveReadRepository {
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    // 커서(after) 이후의 모든 게시글을 id 순으로 ArticleSummary 로 조회 (ArticleRepository.streamAfter 와 같은 컬럼)
+    public Flux<ArticleSummary> findSummariesAfter(long after) {
+        return template.getDatabaseClient()
+                .sql("SELECT id, title, content, comment_count, last_commented_at FROM article WHERE id > :after ORDER BY id")
+                .bind("after", after)
+                .map(row -> new ArticleSummary(
+                        row.get("id", Long.class),
+                        row.get("title", String.class),
+                        row.get("content", String.class),
+                        row.get("comment_count", Long.class),
+                        row.get("last_commented_at", LocalDateTime.class)))
+                .all();
+    }
+
+    // 특정 게시글의 모든 댓글을 CommentDto 로 조회
+    public Flux<CommentDto> findCommentDtosByArticleId(Long articleId) {
+        return template.getDatabaseClient()
+                .sql("SELECT id, article_id, nickname, body, version FROM comment WHERE article_id = :articleId ORDER BY id")
+                .bind("articleId", articleId)
+                .map(row -> new CommentDto(
+                        row.get("id", Long.class),
+                        row.get("article_id", Long.class),
+                        row.get("nickname", String.class),
+                        row.get("body", String.class),
+                        row.get("version", Long.class)))
+                .all();
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.firstproject.search;
+
+import com.example.firstproject.dto.ArticleSummary;
+import com.example.firstproject.entity.Article;
+import com.example.firstproject.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// 게시글 제목/내용에 대한 메모리 내 역색인(inverted index)
+// 토큰(2글자 n-gram) -> {게시글 id -> 등장 횟수} 형태로 저장하고, BM25 점수로 상위 k 개의 게시글 id 를 찾는다
+// 한글은 띄어쓰기 단위로 자르면 조사 때문에 검색이 잘 되지 않으므로 2글자씩 잘라서(bigram) 색인
+@Slf4j
+@Component
+public class ArticleSearchIndex {
+
+    // BM25 파라미터 (일반적으로 쓰이는 기본값)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 토큰 -> (게시글 id -> 토큰 등장 횟수)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // 게시글 id -> 게시글의 토큰 목록 (수정/삭제 시 기존 색인을 지우기 위해 보관)
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    // 게시글 id -> 게시글의 전체 토큰 수 (문서 길이)
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    // 검색(읽기)은 동시에, 색인 변경(쓰기)은 하나씩
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 애플리케이션이 시작되면(data.sql 적재 이후) 모든 게시글을 읽어 색인을 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        indexAfter(0L);
+        log.info("게시글 검색 색인 생성 완료! 게시글 수: {}, 토큰 수: {}, 소요 시간: {} ms",
+                size(), termCount(), System.currentTimeMillis() - start);
+    }
+
+    // id 가 after 보다 큰 모든 게시글을 DB 에서 읽어 색인 (대량 등록 이후에도 사용)
+    public void indexAfter(Long after) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // 엔티티가 아닌 DTO 로 읽으므로 읽은 게시글이 영속성 컨텍스트에 쌓이지 않음
+            try (Stream<ArticleSummary> articles = articleRepository.streamAfter(after)) {
+                articles.forEach(article -> put(article.getId(), article.getTitle(), article.getContent()));
+            }
+        });
+    }
+
+    // 게시글을 색인에 추가하거나 갱신 (트랜잭션 안이라면 커밋 이후에 반영)
+    public void index(Article article) {
+        afterCommit(() -> put(article.getId(), article.getTitle(), article.getContent()));
+    }
+
+    // 게시글을 색인에서 제거 (트랜잭션 안이라면 커밋 이후에 반영)
+    public void remove(Long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 질의어 q 와 관련도가 높은 순으로 최대 k 개의 게시글 id 를 반환
+    public List<Long> search(String q, int k) {
+        Set<String> queryTerms = new HashSet<>(tokenize(q));
+        if (queryTerms.isEmpty() || k <= 0)
+            return new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            int n = documentLengths.size();
+            if (n == 0)
+                return new ArrayList<>();
+            double averageLength = (double) totalLength / n;
+
+            // 게시글별 BM25 점수 누적
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null)
+                    continue;
+                double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                    int tf = posting.getValue();
+                    int length = documentLengths.get(posting.getKey());
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                    scores.merge(posting.getKey(), score, Double::sum);
+                }
+            }
+
+            // 점수가 가장 낮은 것을 먼저 버리는 크기 k 의 힙으로 상위 k 개만 남김
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(k + 1, Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > k)
+                    top.poll();
+            }
+            List<Long> ids = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ids.add(top.poll().getKey());
+            }
+            Collections.reverse(ids); // 점수가 높은 순으로
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 색인된 게시글 수
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 색인된 토큰(서로 다른 검색어) 수
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 문자열을 토큰으로 분리
+    // 글자/숫자가 아닌 문자를 기준으로 단어를 나눈 뒤, 한 글자 단어는 그대로, 그 외에는 2글자씩 겹쳐서 자른다
+    // 예) "인생 영화는?" -> [인생, 영화, 화는]
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null)
+            return tokens;
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int wordStart = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && wordStart < 0) {
+                wordStart = i;
+            } else if (!letter && wordStart >= 0) {
+                if (i - wordStart == 1) {
+                    tokens.add(lower.substring(wordStart, i));
+                } else {
+                    for (int j = wordStart; j + 2 <= i; j++) {
+                        tokens.add(lower.substring(j, j + 2));
+                    }
+                }
+                wordStart = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void put(Long id, String title, String content) {
+        // 토큰별 등장 횟수 계산은 잠금 밖에서
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        List<String> tokens = tokenize(title);
+        tokens.addAll(tokenize(content));
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            termFrequencies.forEach((term, tf) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, tf));
+            documentTerms.put(id, termFrequencies.keySet());
+            documentLengths.put(id, tokens.size());
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 쓰기 잠금을 잡은 상태에서 호출
+    private void removeDocument(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null)
+            return;
+        for (String term : terms) {
+            Map<Long, Integer> docs = postings.get(term);
+            docs.remove(id);
+            if (docs.isEmpty())
+                postings.remove(term);
+        }
+        totalLength -= documentLengths.remove(id);
+    }
+
+    // 트랜잭션이 진행 중이면 커밋된 뒤에 실행하고 (롤백되면 실행하지 않음), 아니면 바로 실행
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
@@ -1,36 +1,183 @@
 package com.example.firstproject.service;
 
+import com.example.firstproject.annotation.ReadFromPrimary;
+import com.example.firstproject.config.CacheConfig;
+import com.example.firstproject.dto.ArticleDetail;
 import com.example.firstproject.dto.ArticleForm;
+import com.example.firstproject.dto.ArticleImportResult;
+import com.example.firstproject.dto.ArticlePage;
+import com.example.firstproject.dto.ArticleSummary;
 import com.example.firstproject.entity.Article;
 import com.example.firstproject.repository.ArticleRepository;
+import com.example.firstproject.repository.ReactiveReadRepository;
+import com.example.firstproject.search.ArticleSearchIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
 
-import javax.transaction.Transactional;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// 트랜잭션 규칙
+// - 기본은 읽기 전용 트랜잭션 (클래스의 @Transactional(readOnly = true))
+//   Hibernate 세션의 플러시 모드가 MANUAL 이 되고 조회한 엔티티가 읽기 전용이 되므로,
+//   변경 감지를 위한 스냅샷을 만들지 않고 커밋할 때 플러시(dirty checking)도 하지 않음
+//   복제본이 설정되어 있다면 복제본에서 읽음 (ReplicaRoutingDataSource)
+//   단, 캐시를 채우는 조회는 @ReadFromPrimary 로 primary 에서 읽음
+//   (복제본이 따라잡기 전에 읽으면, 수정 후 제거된 캐시에 이전 값이 다시 저장되어 만료될 때까지 남음)
+// - 데이터를 바꾸는 메서드는 @Transactional 로 읽기/쓰기 트랜잭션을 명시
+// - 트랜잭션을 직접 나누거나(청크 단위 커밋) 트랜잭션이 필요 없는 메서드는 NOT_SUPPORTED
 @Slf4j
 @Service // 서비스 선언! (서비스 객체를 스프링부트에 생성)
+@Transactional(readOnly = true)
 public class ArticleService {
 
+    // 한 페이지에 담을 수 있는 게시글 수의 기본값과 최대값
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired // DI (외부에서 가져온다는 뜻)
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private ReactiveReadRepository reactiveReadRepository;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 트랜잭션 프록시를 거쳐 자기 자신의 메서드를 호출할 때 사용 (this 로 호출하면 @Transactional 이 적용되지 않음)
+    // 자기 자신을 주입하는 순환 참조이므로 @Lazy 로 프록시가 만들어진 뒤에 가져옴
+    @Autowired
+    @Lazy
+    private ArticleService self;
+
+    // 대량 등록 시 한 번의 JDBC batch 로 보낼 INSERT 수
+    @Value("${article.import.batch-size:500}")
+    private int importBatchSize;
+
+    // 대량 등록 시 하나의 트랜잭션으로 커밋할 게시글 수 (실패하면 이 단위로 롤백됨)
+    @Value("${article.import.chunk-size:5000}")
+    private int importChunkSize;
+
     // Article 객체의 목록을 조회하는 기능을 수행
+    // 화면과 API 는 DTO 로 조회하는 index(after, size), iterateAll() 을 사용하고, 엔티티 목록이 필요한 곳(테스트)에서만 사용
     public List<Article> index() {
         // 데이터베이스에 저장된 모든 Article 객체를 가져와서 목록으로 반환
         return articleRepository.findAll();
     }
 
+    // 커서(after) 이후의 게시글을 최대 size 개까지 조회
+    // 다음 페이지가 있는지 알기 위해 size + 1 개를 가져온 뒤, 넘치는 한 건은 잘라내고 다음 커서를 계산
+    // 엔티티 대신 ArticleSummary 로 바로 조회하므로 영속성 컨텍스트를 거치지 않음
+    public ArticlePage index(Long after, int size) {
+        // 잘못된 입력은 기본값/최대값으로 보정
+        long cursor = (after != null) ? after : 0L;
+        int pageSize = (size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        List<ArticleSummary> articles = articleRepository.findSummaryPage(cursor, PageRequest.of(0, pageSize + 1));
+
+        // 한 건 더 가져와졌다면 다음 페이지가 존재함
+        if (articles.size() > pageSize) {
+            articles = articles.subList(0, pageSize);
+            return new ArticlePage(articles, articles.get(pageSize - 1).getId());
+        }
+        return new ArticlePage(articles, null);
+    }
+
+    // 모든 게시글을 id 순으로 순회하는 Iterable
+    // 순회하는 동안 MAX_PAGE_SIZE 개씩 커서 페이지 조회(index)를 반복하므로, 한 번에 메모리에 올라가는 게시글은 한 페이지 분량뿐
+    // 페이지마다 짧은 쿼리로 끝나므로 순회가 오래 걸려도(예: 느린 클라이언트에게 렌더링) 커넥션이나 트랜잭션을 붙잡지 않음
+    // 각 페이지는 프록시(self)를 거쳐 조회하므로 페이지마다 자신의 읽기 전용 트랜잭션에서 실행됨 (복제본이 있다면 복제본에서 읽음)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Iterable<ArticleSummary> iterateAll() {
+        return () -> new Iterator<ArticleSummary>() {
+            private Iterator<ArticleSummary> page = Collections.emptyIterator();
+            private Long cursor = 0L; // 다음에 조회할 커서, 마지막 페이지를 읽었다면 null
+
+            @Override
+            public boolean hasNext() {
+                if (!page.hasNext() && cursor != null) {
+                    ArticlePage next = self.index(cursor, MAX_PAGE_SIZE);
+                    page = next.getArticles().iterator();
+                    cursor = next.getNextCursor();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public ArticleSummary next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return page.next();
+            }
+        };
+    }
+
+    // 커서(after) 이후의 모든 게시글을 한 건씩 consumer 에게 넘겨줌
+    // 결과 전체를 리스트로 만들지 않고, 영속성 컨텍스트에 올라가지 않는 DTO 로 읽으므로
+    // 테이블 크기와 상관없이 메모리 사용량이 일정하게 유지됨
+    // 스트림은 트랜잭션(커넥션)이 열려 있는 동안에만 읽을 수 있음
+    public void stream(Long after, Consumer<ArticleSummary> consumer) {
+        long cursor = (after != null) ? after : 0L;
+        try (Stream<ArticleSummary> articles = articleRepository.streamAfter(cursor)) {
+            articles.forEach(consumer);
+        }
+    }
+
+    // 커서(after) 이후의 모든 게시글을 R2DBC 로 읽어 Flux 로 반환 (논블로킹)
+    // stream() 과 달리 읽는 동안 요청 스레드나 JDBC 커넥션을 붙잡지 않으며, 구독자가 소비하는 속도에 맞춰 읽음
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<ArticleSummary> flux(Long after) {
+        long cursor = (after != null) ? after : 0L;
+        return reactiveReadRepository.findSummariesAfter(cursor);
+    }
+
     // 특정 id 값을 가진 Article 객체를 조회하여 반환
+    // 화면과 API 는 캐시를 거치는 detail(id) 를 사용하고, 엔티티가 필요한 곳(테스트)에서만 사용
     public Article show(Long id) {
         // 데이터베이스에서 해당 id 값을 가진 Article 을 찾으면 해당 객체를 반환하고, 찾지 못할 경우 null 을 반환
         return articleRepository.findById(id).orElse(null);
     }
 
+    // 특정 id 값을 가진 게시글을 응답용 DTO(ArticleDetail)로 조회하여 반환 (상세 페이지, API)
+    // 조회 결과는 articles 캐시에 보관되어, 같은 id 를 다시 조회하면 DB 를 거치지 않음
+    // (존재하지 않는 id 의 결과인 null 은 캐시하지 않음)
+    // 캐시에는 엔티티가 아닌 수정할 수 없는 DTO 가 보관되므로 여러 요청이 함께 사용해도 안전함
+    @Cacheable(value = CacheConfig.ARTICLES, key = "#id", unless = "#result == null")
+    @ReadFromPrimary
+    public ArticleDetail detail(Long id) {
+        return articleRepository.findDetailById(id).orElse(null);
+    }
+
     // ArticleForm 객체를 기반으로 Article 객체를 생성하고 저장한 후, 저장된 객체를 반환
+    @Transactional
     public Article create(ArticleForm dto) {
         // ArticleForm 객체인 dto 를 기반으로 Article 객체를 생성
         Article article = dto.toEntity();
@@ -39,11 +186,26 @@ public class ArticleService {
             return null;
         }
         // ID가 존재하지 않는 경우, 새로운 Article 객체가 데이터베이스에 저장되고, 저장된 객체가 반환
-        return articleRepository.save(article);
+        Article created = articleRepository.save(article);
+        // 검색 색인에도 추가
+        searchIndex.index(created);
+        return created;
     }
 
     // 주어진 ID에 해당하는 기존 Article 객체를 찾아서 수정용 Article 객체로 업데이트
+    // 수정이 일어나면 캐시에 남아 있는 이전 게시글과 렌더링된 페이지를 제거
+    @Transactional
+    @CacheEvict(value = {CacheConfig.ARTICLES, CacheConfig.ARTICLE_PAGES}, key = "#id")
     public Article update(Long id, ArticleForm dto) {
+        return update(id, dto, null);
+    }
+
+    // expectedVersion 이 주어지면 게시글의 현재 버전과 같을 때만 수정 (If-Match)
+    // 버전이 다르거나, 조회 이후 저장 전에 다른 요청이 먼저 수정했다면 ObjectOptimisticLockingFailureException 이 발생
+    // 조회부터 저장까지 하나의 트랜잭션으로 묶어, 복제본이 아닌 primary 에서 최신 게시글을 읽고 수정
+    @Transactional
+    @CacheEvict(value = {CacheConfig.ARTICLES, CacheConfig.ARTICLE_PAGES}, key = "#id")
+    public Article update(Long id, ArticleForm dto, Long expectedVersion) {
         // 1. 수정용 엔티티 생성
         Article article = dto.toEntity();
         log.info("id: {}, article: {}", id, article.toString());
@@ -54,10 +216,11 @@ public class ArticleService {
 
         // 3. 잘못된 요청 처리(대상이 없거나, id가 다른경우)
         // 만약 target 이 null 이거나 id와 article.getId()가 다른 경우, 잘못된 요청으로 간주하고 null 을 반환
-        if (target == null || id != article.getId()) {
+        if (target == null || !Objects.equals(id, article.getId())) {
             log.info("잘못된 요청! id: {}, article: {}", id, article);
             return null;
         }
+        checkVersion(target, expectedVersion);
 
         // 4. 업데이트
         // target 객체를 주어진 article 객체로 업데이트
@@ -65,11 +228,23 @@ public class ArticleService {
         // 업데이트된 target 객체를 저장
         // 이를 통해 업데이트된 Article 객체가 데이터베이스에 저장되고, 저장된 객체가 반환
         Article updated = articleRepository.save(target);
+        // 검색 색인 갱신
+        searchIndex.index(updated);
         return updated;
     }
 
     // id를 인자로 받아서 해당 id에 해당하는 Article 객체를 삭제하고, 삭제된 Article 객체를 반환
+    // 삭제된 게시글은 캐시(게시글, 렌더링된 페이지)에서도 제거
+    @Transactional
+    @CacheEvict(value = {CacheConfig.ARTICLES, CacheConfig.ARTICLE_PAGES}, key = "#id")
     public Article delete(Long id) {
+        return delete(id, null);
+    }
+
+    // expectedVersion 이 주어지면 게시글의 현재 버전과 같을 때만 삭제 (If-Match)
+    @Transactional
+    @CacheEvict(value = {CacheConfig.ARTICLES, CacheConfig.ARTICLE_PAGES}, key = "#id")
+    public Article delete(Long id, Long expectedVersion) {
         // 대상 엔티티 찾기
         // articleRepository 를 사용하여 id에 해당하는 Article 객체를 찾는다.
         // findById(id) 메서드를 호출하고, 반환된 객체를 target 변수에 할당
@@ -80,18 +255,27 @@ public class ArticleService {
         if (target == null) {
             return null;
         }
+        checkVersion(target, expectedVersion);
 
         // 대상 삭제 후 응답 반환
         // target 에 해당하는 Article 객체를 삭제
         articleRepository.delete(target);
+        // 검색 색인에서도 제거
+        searchIndex.remove(id);
         // 삭제된 Article 객체를 반환하기 위해 target 을 반환
         return target;
     }
 
+    // 클라이언트가 알고 있는 버전(expectedVersion)과 현재 버전이 다르면 예외 발생
+    private static void checkVersion(Article target, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(target.getVersion()))
+            throw new ObjectOptimisticLockingFailureException(Article.class, target.getId());
+    }
+
     // ArticleForm 객체들을 Article 엔티티로 변환하여 DB에 저장하고,
-    // 저장된 Article 객체들의 리스트를 반환하는 createArticles 메서드를 트랜잭션 내에서 실행하는 구현을 보여줌
+    // 저장된 게시글들을 응답용 DTO 의 리스트로 반환하는 createArticles 메서드를 트랜잭션 내에서 실행하는 구현을 보여줌
     @Transactional // 해당 메소드를 트랜잭션으로 묶는다!
-    public List<Article> createArticles(List<ArticleForm> dtos) {
+    public List<ArticleDetail> createArticles(List<ArticleForm> dtos) {
         // 1. dto 묶음을 entity 묶음으로 변환
         // 주어진 ArticleForm 객체들의 리스트를 stream() 메서드를 사용하여 스트림으로 변환
         // stream()은 Java 8부터 추가된 기능으로, 컬렉션(Collection)이나 배열과 같은 데이터 요소들의 시퀀스를 처리하는데 사용되는 기능
@@ -118,6 +302,64 @@ public class ArticleService {
         );
 
         // 4. 결과값 반환
-        return articleList;
+        return articleList.stream()
+                .map(ArticleDetail::createArticleDetail)
+                .collect(Collectors.toList());
+    }
+
+    // 게시글을 대량으로 등록 (예: 10만 건 이관)
+    // JPA 의 save()는 IDENTITY 전략 때문에 한 건마다 DB 를 왕복하므로, JdbcTemplate 의 batchUpdate 로 INSERT 를 묶어서 전송
+    // 전체를 하나의 트랜잭션으로 묶지 않고 chunk-size 단위로 나누어 커밋하며,
+    // 어떤 청크가 실패하면 그 청크만 롤백하고 실패 정보를 결과에 기록한 뒤 다음 청크를 계속 진행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ArticleImportResult importArticles(List<ArticleForm> dtos) {
+        ArticleImportResult result = new ArticleImportResult(dtos.size());
+        // 등록 전 마지막 id, 등록이 끝나면 이후의 게시글을 검색 색인에 추가
+        Long lastId = articleRepository.findMaxId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int from = 0, chunk = 0; from < dtos.size(); from += importChunkSize, chunk++) {
+            int to = Math.min(from + importChunkSize, dtos.size());
+            // id 는 DB 가 생성하므로 title 과 content 만 저장
+            List<Object[]> rows = dtos.subList(from, to)
+                    .stream()
+                    .map(dto -> dto.toEntity())
+                    .map(article -> new Object[]{article.getTitle(), article.getContent()})
+                    .collect(Collectors.toList());
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < rows.size(); i += importBatchSize) {
+                        jdbcTemplate.batchUpdate(
+                                "INSERT INTO article(title, content) VALUES (?, ?)",
+                                rows.subList(i, Math.min(i + importBatchSize, rows.size())));
+                    }
+                });
+                result.chunkImported(rows.size());
+            } catch (DataAccessException e) {
+                log.warn("게시글 대량 등록 실패! chunk: {}, 범위: [{}, {})", chunk, from, to, e);
+                result.chunkFailed(chunk, from, to, e.getMostSpecificCause().getMessage());
+            }
+        }
+        searchIndex.indexAfter(lastId);
+        return result;
+    }
+
+    // 제목/내용에 질의어 q 가 포함된 게시글을 관련도(BM25) 순으로 최대 k 개 조회
+    // 검색은 메모리 내 색인으로 하고, DB 에서는 찾은 id 의 게시글만 가져옴
+    public List<ArticleSummary> search(String q, int k) {
+        int limit = (k <= 0) ? DEFAULT_PAGE_SIZE : Math.min(k, MAX_PAGE_SIZE);
+        List<Long> ids = searchIndex.search(q, limit);
+        // 찾은 게시글이 없으면 DB 를 조회하지 않음 (빈 IN () 은 PostgreSQL 에서 문법 오류)
+        if (ids.isEmpty())
+            return List.of();
+
+        // IN 조회는 순서를 보장하지 않으므로 색인이 돌려준 순서대로 다시 정렬
+        Map<Long, ArticleSummary> found = new HashMap<>();
+        articleRepository.findSummariesByIdIn(ids).forEach(article -> found.put(article.getId(), article));
+        return ids.stream()
+                .map(id -> found.get(id))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
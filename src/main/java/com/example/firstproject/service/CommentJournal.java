@@ -0,0 +1,261 @@
+package com.example.firstproject.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+// write-behind 로 받은 댓글을 DB 에 저장하기 전까지 보관하는 로컬 저널 파일
+// 파일 전체를 메모리에 매핑하고 끝에 레코드를 덧붙이기만 하므로, 댓글 하나를 받는 비용은 메모리 복사 수준
+// 프로세스가 비정상 종료되어도 매핑된 내용은 OS 가 파일에 기록하므로, 다음 시작 때 남은 댓글을 다시 저장할 수 있음
+// (OS 장애까지 견디려면 fsync 옵션을 켜서 레코드마다 디스크에 강제로 기록)
+//
+// 파일 구조: [헤더][레코드 영역]
+//   헤더: 매직 넘버(int), 예약(int), DB 에 저장 완료된 위치(long), 기록된 위치(long)
+//   레코드: 본문 길이(int), 본문의 CRC32(int), 본문(저널 id, 댓글 키(UUID), 게시글 id, 닉네임, 내용)
+// 레코드 영역은 원형으로 사용: 두 위치는 계속 증가하는 논리 위치이고, 실제 위치는 영역 크기로 나눈 나머지
+// 저장 완료된 레코드의 공간은 바로 다시 쓰이므로, 댓글이 계속 들어와 저널이 비는 순간이 없어도 가득 차지 않음
+// 레코드는 영역 끝에서 나뉘지 않음: 끝에 남은 공간이 모자라면 건너뛰기 표시(WRAP)를 남기고 영역 처음부터 기록
+@Slf4j
+class CommentJournal implements Closeable {
+
+    private static final int MAGIC = 0x434A4E33; // "CJN3"
+    private static final int COMMITTED_OFFSET = 8;
+    private static final int WRITTEN_OFFSET = 16;
+    private static final int HEADER_SIZE = 24;
+    private static final int RECORD_HEADER_SIZE = 8;
+    // 영역 끝의 남은 공간을 건너뛰라는 표시 (레코드 길이 자리에 기록)
+    private static final int WRAP = -1;
+
+    // 저널에 기록된 댓글 하나
+    // journalId 는 이 저널 안에서만 유일한 번호(임시 id, 로그용), key 는 DB 에서 중복 저장을 막는 전역 유일 키
+    @Getter
+    @AllArgsConstructor
+    static class Entry {
+        private final long journalId;
+        private final UUID key;
+        private final long articleId;
+        private final String nickname;
+        private final String body;
+    }
+
+    // 읽어온 레코드들과, 그 다음 레코드가 시작하는 위치
+    @Getter
+    @AllArgsConstructor
+    static class Batch {
+        private final List<Entry> entries;
+        private final long end;
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean fsync;
+    private final int capacity;     // 레코드 영역 크기
+
+    private long committed; // DB 에 저장 완료된 논리 위치
+    private long written;   // 다음 레코드를 기록할 논리 위치
+    private long maxJournalId; // 저널에 남아 있는 레코드의 가장 큰 저널 id
+
+    private CommentJournal(FileChannel channel, MappedByteBuffer buffer, boolean fsync) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.fsync = fsync;
+        this.capacity = buffer.capacity() - HEADER_SIZE;
+    }
+
+    // 저널 파일을 열고, 파일이 없거나 형식이 다르면 새로 초기화
+    // 이미 있는 파일이라면 저장되지 않은 레코드들의 CRC 를 확인하여, 쓰다가 끊긴 레코드부터는 버림
+    static CommentJournal open(Path file, int capacity, boolean fsync) throws IOException {
+        if (file.getParent() != null)
+            Files.createDirectories(file.getParent());
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        CommentJournal journal = new CommentJournal(channel, buffer, fsync);
+        if (buffer.getInt(0) != MAGIC) {
+            journal.reset();
+            buffer.putInt(0, MAGIC);
+        } else {
+            journal.recover();
+        }
+        return journal;
+    }
+
+    private void recover() {
+        committed = buffer.getLong(COMMITTED_OFFSET);
+        long end = buffer.getLong(WRITTEN_OFFSET);
+        if (committed < 0 || end < committed || end - committed > capacity) {
+            log.warn("댓글 저널의 헤더가 손상되어 저널을 초기화합니다! 저장 완료 위치: {}, 기록된 위치: {}", committed, end);
+            reset();
+            return;
+        }
+        long position = committed;
+        while (position < end) {
+            long start = skipWrap(position);
+            Entry entry = (start < end) ? readEntry(start) : null;
+            long next = (entry != null) ? start + RECORD_HEADER_SIZE + buffer.getInt(offset(start)) : end + 1;
+            if (next > end) {
+                log.warn("댓글 저널의 손상된 레코드를 버립니다! 위치: {}, 버린 크기: {} bytes", position, end - position);
+                break;
+            }
+            maxJournalId = Math.max(maxJournalId, entry.getJournalId());
+            position = next;
+        }
+        written = position;
+        buffer.putLong(WRITTEN_OFFSET, written);
+    }
+
+    // 댓글 하나를 저널 끝에 기록, 저널이 가득 찼다면 false
+    synchronized boolean append(long journalId, UUID key, long articleId, String nickname, String body) {
+        byte[] nicknameBytes = (nickname != null) ? nickname.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] bodyBytes = (body != null) ? body.getBytes(StandardCharsets.UTF_8) : null;
+        int length = 8 + 16 + 8 + 4 + length(nicknameBytes) + 4 + length(bodyBytes);
+        // 영역 끝에 레코드가 들어가지 않으면 남은 공간은 건너뛰고 영역 처음부터 기록
+        int tail = capacity - (int) (written % capacity);
+        int skip = (RECORD_HEADER_SIZE + length > tail) ? tail : 0;
+        if (written + skip + RECORD_HEADER_SIZE + length - committed > capacity)
+            return false;
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        payload.putLong(journalId).putLong(key.getMostSignificantBits()).putLong(key.getLeastSignificantBits())
+                .putLong(articleId);
+        putBytes(payload, nicknameBytes);
+        putBytes(payload, bodyBytes);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+
+        // 레코드를 먼저 쓰고 나서 기록된 위치를 옮김 (위치만 옮겨지고 레코드가 없는 상태가 생기지 않도록)
+        int wrapAt = offset(written);
+        if (skip >= RECORD_HEADER_SIZE)
+            buffer.putInt(wrapAt, WRAP);
+        int position = offset(written + skip);
+        buffer.putInt(position, length);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.put(position + RECORD_HEADER_SIZE, payload.array());
+        written += skip + RECORD_HEADER_SIZE + length;
+        buffer.putLong(WRITTEN_OFFSET, written);
+        if (fsync) {
+            if (skip >= RECORD_HEADER_SIZE)
+                buffer.force(wrapAt, RECORD_HEADER_SIZE);
+            buffer.force(position, RECORD_HEADER_SIZE + length);
+            buffer.force(0, HEADER_SIZE);
+        }
+        return true;
+    }
+
+    // 아직 DB 에 저장되지 않은 레코드를 최대 max 개 읽음
+    // 읽는 범위는 이미 다 기록되었고 저장 완료 전까지 덮어쓰이지 않으므로, 기록과 동시에 읽어도 안전
+    Batch read(int max) {
+        long from, to;
+        synchronized (this) {
+            from = committed;
+            to = written;
+        }
+        List<Entry> entries = new ArrayList<>(Math.min(max, 1024));
+        long position = from;
+        while (position < to && entries.size() < max) {
+            position = skipWrap(position);
+            entries.add(readEntry(position));
+            position += RECORD_HEADER_SIZE + buffer.getInt(offset(position));
+        }
+        return new Batch(entries, position);
+    }
+
+    // end 위치까지 DB 에 저장되었음을 기록, 그 앞의 공간은 새 레코드가 다시 사용
+    synchronized void commit(long end) {
+        committed = end;
+        buffer.putLong(COMMITTED_OFFSET, committed);
+        if (fsync)
+            buffer.force(0, HEADER_SIZE);
+    }
+
+    // 저장되지 않고 남아 있는 레코드의 크기 (bytes)
+    synchronized long pendingBytes() {
+        return written - committed;
+    }
+
+    long getMaxJournalId() {
+        return maxJournalId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void reset() {
+        committed = 0;
+        written = 0;
+        buffer.putLong(COMMITTED_OFFSET, committed);
+        buffer.putLong(WRITTEN_OFFSET, written);
+    }
+
+    // 논리 위치를 파일 안의 위치로 변환
+    private int offset(long position) {
+        return HEADER_SIZE + (int) (position % capacity);
+    }
+
+    // position 이 영역 끝의 건너뛸 공간(레코드 헤더도 들어가지 않는 공간이거나 WRAP 표시)이라면 다음 바퀴의 시작 위치를, 아니면 그대로 반환
+    private long skipWrap(long position) {
+        int tail = capacity - (int) (position % capacity);
+        if (tail < RECORD_HEADER_SIZE || buffer.getInt(offset(position)) == WRAP)
+            return position + tail;
+        return position;
+    }
+
+    // position 의 레코드를 읽음, 길이나 CRC 가 맞지 않으면 null
+    private Entry readEntry(long position) {
+        int start = offset(position);
+        int length = buffer.getInt(start);
+        if (length <= 0 || start + RECORD_HEADER_SIZE + length > buffer.capacity())
+            return null;
+
+        byte[] bytes = new byte[length];
+        buffer.get(start + RECORD_HEADER_SIZE, bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != buffer.getInt(start + 4))
+            return null;
+
+        ByteBuffer payload = ByteBuffer.wrap(bytes);
+        return new Entry(payload.getLong(), new UUID(payload.getLong(), payload.getLong()), payload.getLong(),
+                getString(payload), getString(payload));
+    }
+
+    private static int length(byte[] bytes) {
+        return (bytes != null) ? bytes.length : 0;
+    }
+
+    // 길이(int, null 이면 -1)와 UTF-8 바이트
+    private static void putBytes(ByteBuffer payload, byte[] bytes) {
+        if (bytes == null) {
+            payload.putInt(-1);
+        } else {
+            payload.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0)
+            return null;
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
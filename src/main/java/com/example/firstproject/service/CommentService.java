@@ -1,22 +1,55 @@
 package com.example.firstproject.service;
 
+import com.example.firstproject.annotation.ReadFromPrimary;
+import com.example.firstproject.config.CacheConfig;
 import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.dto.CommentImportResult;
+import com.example.firstproject.dto.CommentPage;
 import com.example.firstproject.entity.Article;
 import com.example.firstproject.entity.Comment;
 import com.example.firstproject.repository.ArticleRepository;
 import com.example.firstproject.repository.CommentRepository;
+import com.example.firstproject.repository.ReactiveReadRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
+// 트랜잭션 규칙은 ArticleService 와 같음
+// 기본은 읽기 전용(플러시 모드 MANUAL, 스냅샷 없음), 데이터를 바꾸는 메서드만 @Transactional, 트랜잭션을 직접 나누는 메서드는 NOT_SUPPORTED
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class CommentService {
 
+    // 한 페이지에 담을 수 있는 댓글 수의 기본값과 최대값
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired // // 스프링 부트가 미리 생성해놓은 객체를 가져다가 자동 연결!
     // CommentService 클래스는 데이터베이스와의 CRUD 작업 등을 처리
     private CommentRepository commentRepository;
@@ -24,22 +57,81 @@ public class CommentService {
     @Autowired
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private ReactiveReadRepository reactiveReadRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // 대량 등록 시 한 번의 JDBC batch 로 보낼 INSERT 수
+    @Value("${comment.import.batch-size:500}")
+    private int importBatchSize;
+
+    // 대량 등록 시 한 번에 읽어서 검증하고 하나의 트랜잭션으로 커밋할 댓글 수
+    @Value("${comment.import.chunk-size:5000}")
+    private int importChunkSize;
+
     // 클라이언트에게는 DTO 형식으로 데이터를 전달하는 것이 일반적으로 더 유용
     // DTO 는 엔티티와는 다른 데이터 구조를 가지며, 필요한 필드만 포함하여 데이터 전송을 간소화할 수 있음
     // 따라서, stream()과 map()을 사용하여 엔티티를 DTO 로 변환하여 일관된 형식의 데이터를 반환하는 것이 좋다.
 
     // articleId를 매개변수로 받아서 해당 게시글에 대한 댓글들을 조회하여 CommentDto 의 리스트로 반환
+    // 결과는 게시글별로 comments 캐시에 보관되므로, 같은 게시글을 다시 조회하면 DB 를 거치지 않음
+    // 여러 요청이 같은 리스트를 공유하므로 수정할 수 없는(immutable) 리스트로 만들어 반환
+    // 캐시를 채우는 조회이므로 복제본이 설정되어 있어도 primary 에서 읽음 (복제 지연으로 이전 목록이 캐시되지 않도록)
+    @Cacheable(value = CacheConfig.COMMENTS, key = "#articleId")
+    @ReadFromPrimary
     public List<CommentDto> comments(Long articleId) {
         // 반환
-        // articleId에 해당하는 댓글들을 조회, 그 후, 각댓글에 대해 createCommentDto 호출하여 CommentDto 의 리스트로 변환
-        return commentRepository.findByArticleId(articleId)
-                .stream()
-                .map(comment -> CommentDto.createCommentDto(comment))
-                .collect(Collectors.toList());
+        // articleId에 해당하는 댓글들을 CommentDto 로 바로 조회 (게시글 조회 없이 쿼리 1번)
+        return List.copyOf(commentRepository.findDtosByArticleId(articleId));
+    }
+
+    // 특정 게시글의 댓글들을 R2DBC 로 읽어 Flux 로 반환 (논블로킹, 캐시를 거치지 않음)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<CommentDto> commentsFlux(Long articleId) {
+        return reactiveReadRepository.findCommentDtosByArticleId(articleId);
+    }
+
+    // 닉네임으로 댓글 검색 (대소문자 무시), prefix 가 true 면 닉네임이 nickname 으로 시작하는 댓글을 검색
+    // 커서(after) 이후의 댓글을 최대 size 개 반환하고, 다음 페이지가 있다면 다음 커서를 함께 반환
+    public CommentPage searchByNickname(String nickname, boolean prefix, Long after, int size) {
+        long cursor = (after != null) ? after : 0L;
+        int pageSize = (size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        String key = Comment.toNicknameKey(nickname);
+        if (key == null || key.isEmpty())
+            return new CommentPage(List.of(), null);
+
+        // 다음 페이지가 있는지 알기 위해 한 건 더 조회
+        PageRequest pageable = PageRequest.of(0, pageSize + 1);
+        List<CommentDto> dtos = prefix ?
+                commentRepository.findPageByNicknameKeyLike(escapeLike(key) + "%", cursor, pageable) :
+                commentRepository.findPageByNicknameKey(key, cursor, pageable);
+
+        if (dtos.size() > pageSize) {
+            dtos = dtos.subList(0, pageSize);
+            return new CommentPage(dtos, dtos.get(pageSize - 1).getId());
+        }
+        return new CommentPage(dtos, null);
+    }
+
+    // LIKE 패턴에서 특수문자(%, _)를 일반 문자로 취급하도록 이스케이프 ('!' 를 이스케이프 문자로 사용)
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
     }
 
     // 새로운 댓글을 생성하는 기능을 담당
+    // 댓글이 추가된 게시글의 댓글 목록 캐시와 렌더링된 페이지, 댓글 수가 바뀐 게시글 캐시를 제거 (커밋 이후 반영)
     @Transactional
+    @CacheEvict(value = {CacheConfig.ARTICLES, CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES}, key = "#articleId")
     public CommentDto create(Long articleId, CommentDto dto) {
 
         // 게시글 조회 및 예외 발생
@@ -55,39 +147,169 @@ public class CommentService {
         // 댓글 엔티티를 DB로 저장
         Comment created = commentRepository.save(comment);
 
+        // 게시글의 댓글 수와 마지막 댓글 시각 갱신 (같은 트랜잭션에서 UPDATE 한 번)
+        articleRepository.incrementCommentCount(articleId, LocalDateTime.now());
+
         // DTO 로 변경하여 반환
         return CommentDto.createCommentDto(created);
     }
 
+    // 수정된 댓글이 속한 게시글의 댓글 목록 캐시와 렌더링된 페이지를 제거
     @Transactional
+    @CacheEvict(value = {CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES}, key = "#result.articleId")
     public CommentDto update(Long id, CommentDto dto) {
+        return update(id, dto, null);
+    }
+
+    // expectedVersion 이 주어지면 댓글의 현재 버전과 같을 때만 수정 (If-Match)
+    @Transactional
+    @CacheEvict(value = {CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES}, key = "#result.articleId")
+    public CommentDto update(Long id, CommentDto dto, Long expectedVersion) {
         // 댓글 조회 및 예외 발생
         // id에 해당하는 댓글을 조회
         Comment target =  commentRepository.findById(id)
                 // 만약 조회된 게시글이 없다면 예외 발생
                 .orElseThrow(() -> new IllegalArgumentException("댓글 수정 실패! 대상 댓글이 없습니다."));
+        checkVersion(target, expectedVersion);
 
         // 댓글 수정
         target.patch(dto);
 
-        // DB로 갱신
-        Comment updated = commentRepository.save(target);
+        // DB로 갱신 (바로 flush 하여 증가된 버전을 응답에 담음)
+        Comment updated = commentRepository.saveAndFlush(target);
 
         // 댓글 엔티티를 DTO 로 변환 및 반환
         return CommentDto.createCommentDto(updated);
     }
 
+    // 삭제된 댓글이 속한 게시글의 댓글 목록 캐시와 렌더링된 페이지, 댓글 수가 바뀐 게시글 캐시를 제거
     @Transactional
+    @CacheEvict(value = {CacheConfig.ARTICLES, CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES}, key = "#result.articleId")
     public CommentDto delete(Long id) {
+        return delete(id, null);
+    }
+
+    // expectedVersion 이 주어지면 댓글의 현재 버전과 같을 때만 삭제 (If-Match)
+    @Transactional
+    @CacheEvict(value = {CacheConfig.ARTICLES, CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES}, key = "#result.articleId")
+    public CommentDto delete(Long id, Long expectedVersion) {
         // 댓글 조회 및 예외 발생
         // id에 해당하는 댓글을 조회
         Comment target = commentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("댓글 삭제 실패! 대상이 없습니다."));
+        checkVersion(target, expectedVersion);
 
         // 댓글 삭제
         commentRepository.delete(target);
 
+        // 게시글의 댓글 수 감소
+        articleRepository.decrementCommentCount(target.getArticle().getId());
+
         // 삭제 댓글을 DTO 로 반환
         return CommentDto.createCommentDto(target);
     }
+
+    // 클라이언트가 알고 있는 버전(expectedVersion)과 현재 버전이 다르면 예외 발생
+    // 같은 버전을 확인한 두 요청이 동시에 수정하더라도, 나중에 커밋하는 쪽은 UPDATE ... WHERE version = ? 에서 실패함
+    private static void checkVersion(Comment target, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(target.getVersion()))
+            throw new ObjectOptimisticLockingFailureException(Comment.class, target.getId());
+    }
+
+    // 댓글을 대량으로 등록 (예: 수백만 건의 댓글 이관)
+    // 요청 본문을 한 번에 메모리에 올리지 않고 dtos 에서 chunk-size 만큼씩 읽어 처리하므로,
+    // DB 에 쓰는 속도보다 빨리 읽지 않음 (자연스러운 back-pressure)
+    // 청크마다 1) 참조하는 게시글이 존재하는지 IN 쿼리 한 번으로 확인하고
+    //        2) 유효한 댓글만 JDBC batch INSERT 로 저장하고
+    //        3) 게시글별로 추가된 댓글 수만큼 댓글 수를 늘린 뒤 커밋
+    // 요청 본문을 읽는 동안 트랜잭션을 붙잡지 않도록 청크마다 따로 커밋 (NOT_SUPPORTED)
+    // 본문 중간에 형식이 잘못된 댓글이 있으면 그 앞까지만 저장하고 멈춤
+    // (앞의 청크는 이미 커밋되었으므로, 어디까지 처리했는지를 결과의 unreadFrom 으로 알려줌)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CommentImportResult importComments(Iterator<CommentDto> dtos) {
+        CommentImportResult result = new CommentImportResult();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Cache articlesCache = cacheManager.getCache(CacheConfig.ARTICLES);
+        Cache commentsCache = cacheManager.getCache(CacheConfig.COMMENTS);
+        Cache articlePagesCache = cacheManager.getCache(CacheConfig.ARTICLE_PAGES);
+
+        int index = 0; // 요청 본문에서 현재 청크가 시작하는 순번
+        RuntimeException readFailure = null; // 요청 본문을 읽다가 발생한 오류 (예: 형식이 잘못된 JSON)
+        while (readFailure == null) {
+            // 1. 청크 하나 만큼 읽기, 읽을 수 없는 댓글을 만나면 그 앞까지만 처리
+            List<CommentDto> chunk = new ArrayList<>(importChunkSize);
+            try {
+                while (chunk.size() < importChunkSize && dtos.hasNext()) {
+                    chunk.add(dtos.next());
+                }
+            } catch (RuntimeException e) {
+                readFailure = e;
+            }
+            if (chunk.isEmpty())
+                break;
+            result.received(chunk.size());
+
+            // 2. 참조하는 게시글 id 들을 한 번에 확인
+            Set<Long> articleIds = new HashSet<>();
+            for (CommentDto dto : chunk) {
+                if (dto.getArticleId() != null)
+                    articleIds.add(dto.getArticleId());
+            }
+            Set<Long> existingIds = articleIds.isEmpty() ?
+                    new HashSet<>() :
+                    new HashSet<>(articleRepository.findExistingIds(articleIds));
+
+            // 3. 유효한 댓글만 INSERT 대상으로 추리기 (댓글 생성과 같은 규칙)
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            Map<Long, Integer> addedCounts = new HashMap<>(); // 게시글 id -> 이 청크에서 추가되는 댓글 수
+            for (int i = 0; i < chunk.size(); i++) {
+                CommentDto dto = chunk.get(i);
+                if (dto.getId() != null) {
+                    result.rejected(index + i, 1, "댓글 생성 실패! 댓글의 id가 없어야 합니다.");
+                } else if (!existingIds.contains(dto.getArticleId())) {
+                    result.rejected(index + i, 1, "댓글 생성 실패! 대상 게시글이 없습니다.");
+                } else {
+                    rows.add(new Object[]{dto.getArticleId(), dto.getNickname(), Comment.toNicknameKey(dto.getNickname()), dto.getBody()});
+                    addedCounts.merge(dto.getArticleId(), 1, Integer::sum);
+                }
+            }
+
+            // 4. JDBC batch 로 저장하고 청크 단위로 커밋, 실패하면 이 청크만 롤백
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < rows.size(); i += importBatchSize) {
+                        jdbcTemplate.batchUpdate(
+                                "INSERT INTO comment(article_id, nickname, nickname_key, body) VALUES (?, ?, ?, ?)",
+                                rows.subList(i, Math.min(i + importBatchSize, rows.size())));
+                    }
+                    // 댓글 한 건마다가 아니라 게시글마다 UPDATE 한 번으로 댓글 수를 늘림
+                    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                    List<Object[]> counts = new ArrayList<>(addedCounts.size());
+                    addedCounts.forEach((articleId, added) -> counts.add(new Object[]{added, now, articleId}));
+                    jdbcTemplate.batchUpdate(
+                            "UPDATE article SET comment_count = comment_count + ?, last_commented_at = ? WHERE id = ?",
+                            counts);
+                });
+                result.imported(rows.size());
+
+                // 댓글이 추가된 게시글과 그 댓글 목록 캐시, 렌더링된 페이지를 제거
+                addedCounts.keySet().forEach(articleId -> {
+                    articlesCache.evict(articleId);
+                    commentsCache.evict(articleId);
+                    articlePagesCache.evict(articleId);
+                });
+            } catch (DataAccessException e) {
+                log.warn("댓글 대량 등록 실패! 범위: [{}, {})", index, index + chunk.size(), e);
+                result.rejected(index, rows.size(), e.getMostSpecificCause().getMessage());
+            }
+            index += chunk.size();
+        }
+
+        if (readFailure != null) {
+            String reason = NestedExceptionUtils.getMostSpecificCause(readFailure).getMessage();
+            log.warn("댓글 대량 등록 중단! 요청 본문의 {}번째 댓글을 읽을 수 없습니다. 원인: {}", index, reason);
+            result.unread(index, reason);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,229 @@
+package com.example.firstproject.service;
+
+import com.example.firstproject.annotation.ReadFromPrimary;
+import com.example.firstproject.config.CacheConfig;
+import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.entity.Comment;
+import com.example.firstproject.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 댓글 생성 write-behind 모드 (comment.write-behind.enabled=true 일 때만 동작)
+// 인기 게시글에 댓글이 몰리면 요청마다 트랜잭션을 열고 INSERT 하는 비용이 처리량을 제한하므로,
+// 받은 댓글은 로컬 저널(CommentJournal)에 기록만 하고 임시 id 로 바로 응답한 뒤
+// 백그라운드 스레드가 모인 댓글을 JDBC batch INSERT 로 한꺼번에 저장
+// 댓글이 목록에 보이기까지 flush-interval-ms 정도 늦어지는 대신, 트랜잭션 수가 batch 크기만큼 줄어듦
+//
+// 시작할 때 저널에 남아 있는 댓글(이전 실행에서 저장하지 못한 댓글)부터 저장
+// 댓글마다 전역으로 유일한 키(UUID)를 만들어 저널과 DB(comment.journal_key)에 함께 기록하고, 같은 키가 이미 있으면 건너뛰므로
+// DB 커밋 직후 저널에 완료 위치를 기록하기 전에 종료되었더라도 두 번 저장되지 않음
+// (저널 id 는 서버마다 따로 매기는 번호이므로, 여러 서버가 같은 DB 를 쓰면 중복 확인에 쓸 수 없음)
+@Slf4j
+@Service
+public class CommentWriteBehind {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO comment(article_id, nickname, nickname_key, body, journal_key) " +
+            "SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM comment WHERE journal_key = ?)";
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${comment.write-behind.enabled:false}")
+    private boolean enabled;
+
+    // 저널 파일 경로와 크기 (저장되지 않은 댓글로 가득 차면 저장되어 공간이 생길 때까지 기존처럼 바로 저장)
+    @Value("${comment.write-behind.journal:data/comment-journal.dat}")
+    private String journalPath;
+
+    @Value("${comment.write-behind.journal-size:67108864}")
+    private int journalSize;
+
+    // 댓글을 기록할 때마다 디스크에 강제로 기록할지 (OS 장애에도 유실되지 않지만 느림)
+    @Value("${comment.write-behind.fsync:false}")
+    private boolean fsync;
+
+    // 저장 주기와 한 트랜잭션에 저장할 최대 댓글 수
+    @Value("${comment.write-behind.flush-interval-ms:10}")
+    private long flushIntervalMs;
+
+    @Value("${comment.write-behind.batch-size:500}")
+    private int batchSize;
+
+    private CommentJournal journal;
+    private Thread flusher;
+    private final AtomicLong journalIds = new AtomicLong();
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled)
+            return;
+
+        journal = CommentJournal.open(Path.of(journalPath), journalSize, fsync);
+        journalIds.set(journal.getMaxJournalId());
+        log.info("댓글 write-behind 시작! 저널: {}, 저장 대기 중: {} bytes", journalPath, journal.pendingBytes());
+
+        flusher = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(flushIntervalMs);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                flush();
+            }
+            // 종료 요청, 남은 댓글을 마저 저장
+            flush();
+        }, "comment-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (flusher == null)
+            return;
+        flusher.interrupt();
+        flusher.join();
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 댓글을 저널에 기록하고 임시 id(음수)를 담은 DTO 를 반환
+    // write-behind 모드가 아니거나 저널이 가득 찼다면 null (호출한 쪽에서 기존처럼 바로 저장)
+    // 방금 만든 게시글에 단 댓글도 받을 수 있도록, 게시글 확인은 복제본이 아닌 primary 에서 읽음
+    @ReadFromPrimary
+    public CommentDto accept(Long articleId, CommentDto dto) {
+        if (journal == null)
+            return null;
+
+        // 댓글 생성과 같은 규칙으로 검사
+        if (dto.getId() != null)
+            throw new IllegalArgumentException("댓글 생성 실패! 댓글의 id가 없어야 합니다.");
+        if (!Objects.equals(dto.getArticleId(), articleId))
+            throw new IllegalArgumentException("댓글 생성 실패! 게시글의 id가 잘못되었습니다.");
+        if (!articleRepository.existsById(articleId))
+            throw new IllegalArgumentException("댓글 생성 실패! 대상 게시글이 없습니다.");
+
+        long journalId = journalIds.incrementAndGet();
+        if (!journal.append(journalId, UUID.randomUUID(), articleId, dto.getNickname(), dto.getBody()))
+            return null;
+        return new CommentDto(-journalId, articleId, dto.getNickname(), dto.getBody());
+    }
+
+    // 저널에 쌓인 댓글을 batch-size 개씩 저장
+    void flush() {
+        try {
+            CommentJournal.Batch batch;
+            while (!(batch = journal.read(batchSize)).getEntries().isEmpty()) {
+                Map<Long, Integer> addedCounts = store(batch.getEntries());
+                journal.commit(batch.getEnd());
+                evict(addedCounts);
+            }
+        } catch (RuntimeException e) {
+            // 실패한 batch 는 저장 완료 위치를 옮기지 않았으므로 다음 주기에 처음부터 다시 시도
+            // (그 사이 저장된 댓글은 댓글 키로 건너뜀)
+            log.warn("댓글 write-behind 저장 실패! 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    // 댓글들을 하나의 트랜잭션으로 저장하고 게시글별로 추가된 댓글 수를 반환
+    // 제약 조건 위반으로 batch 가 실패하면(예: 그 사이 게시글이 삭제됨) 한 건씩 따로 저장하고,
+    // 제약 조건 때문에 저장할 수 없는 댓글만 로그를 남기고 버림
+    // 락 타임아웃, 데드락, 연결 오류처럼 다시 시도하면 저장될 수 있는 오류는 그대로 던져서
+    // 저장 완료 위치를 옮기지 않고 flush 가 다음 주기에 다시 시도하도록 함
+    private Map<Long, Integer> store(List<CommentJournal.Entry> entries) {
+        try {
+            return insert(entries);
+        } catch (DataIntegrityViolationException e) {
+            Map<Long, Integer> addedCounts = new HashMap<>();
+            try {
+                for (CommentJournal.Entry entry : entries) {
+                    try {
+                        insert(List.of(entry)).forEach((articleId, added) -> addedCounts.merge(articleId, added, Integer::sum));
+                    } catch (DataIntegrityViolationException ex) {
+                        log.warn("댓글 write-behind 저장 실패! 댓글을 버립니다. 저널 id: {}, 키: {}, 게시글 id: {}",
+                                entry.getJournalId(), entry.getKey(), entry.getArticleId(), ex);
+                    }
+                }
+            } catch (RuntimeException ex) {
+                // 한 건씩 저장하다 실패해도, 이미 저장된 댓글의 캐시는 제거
+                evict(addedCounts);
+                throw ex;
+            }
+            return addedCounts;
+        }
+    }
+
+    private Map<Long, Integer> insert(List<CommentJournal.Entry> entries) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Object[]> rows = new ArrayList<>(entries.size());
+            for (CommentJournal.Entry entry : entries) {
+                rows.add(new Object[]{entry.getArticleId(), entry.getNickname(), Comment.toNicknameKey(entry.getNickname()),
+                        entry.getBody(), entry.getKey().toString(), entry.getKey().toString()});
+            }
+            int[] results = jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+            // 실제로 저장된 댓글만 댓글 수에 반영 (이미 저장되어 있던 댓글은 0)
+            Map<Long, Integer> addedCounts = new HashMap<>();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] > 0 || results[i] == Statement.SUCCESS_NO_INFO)
+                    addedCounts.merge(entries.get(i).getArticleId(), 1, Integer::sum);
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> counts = new ArrayList<>(addedCounts.size());
+            addedCounts.forEach((articleId, added) -> counts.add(new Object[]{added, now, articleId}));
+            jdbcTemplate.batchUpdate(
+                    "UPDATE article SET comment_count = comment_count + ?, last_commented_at = ? WHERE id = ?",
+                    counts);
+            return addedCounts;
+        });
+    }
+
+    // 댓글이 추가된 게시글과 그 댓글 목록 캐시, 렌더링된 페이지를 제거
+    private void evict(Map<Long, Integer> addedCounts) {
+        Cache articlesCache = cacheManager.getCache(CacheConfig.ARTICLES);
+        Cache commentsCache = cacheManager.getCache(CacheConfig.COMMENTS);
+        Cache articlePagesCache = cacheManager.getCache(CacheConfig.ARTICLE_PAGES);
+        addedCounts.keySet().forEach(articleId -> {
+            articlesCache.evict(articleId);
+            commentsCache.evict(articleId);
+            articlePagesCache.evict(articleId);
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.firstproject.view;
+
+import com.example.firstproject.api.ETags;
+import com.example.firstproject.config.CacheConfig;
+import com.example.firstproject.dto.ArticleDetail;
+import com.example.firstproject.dto.CommentDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 게시글 상세 페이지(articles/show)를 렌더링한 HTML 을 게시글 id 별로 보관하는 캐시
+// 읽기가 쓰기보다 훨씬 많으므로, 게시글과 댓글이 바뀌지 않았다면 Mustache 렌더링을 다시 하지 않고 보관된 HTML 을 그대로 응답
+//
+// 보관된 페이지는 렌더링할 때의 내용 버전(게시글 버전 + 댓글 목록 버전)을 함께 가지고 있으며,
+// 조회한 게시글/댓글의 내용 버전과 다르면 다시 렌더링함
+// (게시글/댓글이 수정되면 서비스에서 캐시를 제거하지만, 제거가 누락되어도 오래된 페이지가 응답되지 않도록 한 번 더 확인)
+@Component
+public class ArticlePageCache {
+
+    private static final String TEMPLATE = "articles/show";
+
+    @Autowired
+    private MustacheTemplateRegistry templateRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // 렌더링된 페이지
+    @Getter
+    @AllArgsConstructor
+    public static class RenderedPage {
+        private final String contentVersion; // 렌더링할 때의 내용 버전
+        private final String html;
+        private final long lastModified; // 이 내용이 처음 렌더링된 시각 (초 단위로 절삭한 epoch millis)
+
+        // 응답에 담을 ETag
+        public String getETag() {
+            return "W/\"" + contentVersion + "\"";
+        }
+    }
+
+    // 게시글 상세 페이지를 반환, 같은 내용으로 렌더링된 페이지가 있으면 그대로 반환하고 없으면 렌더링하여 보관
+    // 존재하지 않는 게시글(article == null)의 페이지는 보관하지 않음
+    public RenderedPage get(Long id, ArticleDetail article, List<CommentDto> commentDtos) {
+        String contentVersion = contentVersion(id, article, commentDtos);
+        Cache cache = cacheManager.getCache(CacheConfig.ARTICLE_PAGES);
+
+        RenderedPage cached = cache.get(id, RenderedPage.class);
+        if (cached != null && cached.getContentVersion().equals(contentVersion))
+            return cached;
+
+        RenderedPage rendered = doRender(contentVersion, article, commentDtos, Map.of());
+        if (article != null)
+            cache.put(id, rendered);
+        return rendered;
+    }
+
+    // 캐시를 거치지 않고 렌더링 (플래시 메시지처럼 요청마다 달라지는 값이 있을 때)
+    public RenderedPage render(Long id, ArticleDetail article, List<CommentDto> commentDtos, Map<String, ?> extra) {
+        return doRender(contentVersion(id, article, commentDtos), article, commentDtos, extra);
+    }
+
+    private RenderedPage doRender(String contentVersion, ArticleDetail article, List<CommentDto> commentDtos, Map<String, ?> extra) {
+        // ArticleController.show 가 모델에 담던 것과 같은 이름으로 전달
+        Map<String, Object> model = new HashMap<>(extra);
+        model.put("articles", article);
+        model.put("commentDtos", commentDtos);
+
+        String html = templateRegistry.get(TEMPLATE).execute(model);
+        // HTTP 날짜(Last-Modified)는 초 단위이므로 밀리초는 버림
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        return new RenderedPage(contentVersion, html, now);
+    }
+
+    // 페이지의 내용 버전: 게시글 id, 게시글 버전, 댓글 목록 버전
+    private static String contentVersion(Long id, ArticleDetail article, List<CommentDto> commentDtos) {
+        String articleVersion = (article != null) ? String.valueOf(article.getVersion()) : "none";
+        return id + "-" + articleVersion + "-" + ETags.versionOf(commentDtos);
+    }
+}
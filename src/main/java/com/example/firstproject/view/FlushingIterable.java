@@ -0,0 +1,55 @@
+package com.example.firstproject.view;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
+
+// 순회하면서 writer 를 주기적으로 flush 하는 Iterable
+// 첫 항목을 가져오기 전에 한 번 (그때까지 렌더링된 헤더 등), 이후 interval 건마다 한 번씩 flush
+class FlushingIterable<T> implements Iterable<T> {
+
+    private final Iterable<T> delegate;
+    private final Writer writer;
+    private final int interval;
+
+    FlushingIterable(Iterable<T> delegate, Writer writer, int interval) {
+        this.delegate = delegate;
+        this.writer = writer;
+        this.interval = interval;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> iterator = delegate.iterator();
+        return new Iterator<T>() {
+            private int count = 0;
+            private int flushedAt = -1; // 마지막으로 flush 했을 때의 count (hasNext 가 여러 번 불려도 한 번만 flush)
+
+            @Override
+            public boolean hasNext() {
+                // 다음 항목을 읽기 전에(= 앞 항목의 렌더링이 끝난 뒤에) flush
+                if (count % interval == 0 && count != flushedAt) {
+                    flush();
+                    flushedAt = count;
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                T next = iterator.next();
+                count++;
+                return next;
+            }
+        };
+    }
+
+    private void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.firstproject.view;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mustache.MustacheProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 컴파일된 Mustache 템플릿 보관소
+// 스프링 부트의 MustacheView 는 요청마다 템플릿 파일을 읽어 다시 컴파일하므로, 한 번 컴파일한 템플릿을 이름별로 보관하여 재사용
+// 템플릿 안의 부분 템플릿({{>layouts/header}} 등)은 처음 렌더링할 때 한 번 읽힌 뒤 상위 템플릿에 함께 보관됨
+@Slf4j
+@Component
+public class MustacheTemplateRegistry {
+
+    @Autowired
+    private Mustache.Compiler compiler;
+
+    @Autowired
+    private MustacheProperties mustacheProperties;
+
+    @Autowired
+    private ResourcePatternResolver resourcePatternResolver;
+
+    // 템플릿 이름(예: articles/show) -> 컴파일된 템플릿
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    // 이름에 해당하는 컴파일된 템플릿을 반환, 아직 없다면 컴파일하여 보관
+    public Template get(String name) {
+        return templates.computeIfAbsent(name, key -> compiler.loadTemplate(key));
+    }
+
+    // 애플리케이션이 시작되면 모든 템플릿을 미리 컴파일하여, 첫 요청이 컴파일 비용을 치르지 않도록 함
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() throws IOException {
+        long start = System.currentTimeMillis();
+        String prefix = mustacheProperties.getPrefix();
+        String suffix = mustacheProperties.getSuffix();
+
+        for (Resource resource : resourcePatternResolver.getResources(prefix + "**/*" + suffix)) {
+            // 클래스패스 상의 전체 경로에서 prefix 이후, suffix 이전 부분이 템플릿 이름
+            String path = resource.getURL().toString();
+            int from = path.lastIndexOf(stripClasspath(prefix));
+            if (from < 0)
+                continue;
+            String name = path.substring(from + stripClasspath(prefix).length(), path.length() - suffix.length());
+            get(name);
+        }
+        log.info("Mustache 템플릿 컴파일 완료! 템플릿 수: {}, 소요 시간: {} ms",
+                templates.size(), System.currentTimeMillis() - start);
+    }
+
+    // "classpath:/templates/" -> "/templates/"
+    private static String stripClasspath(String location) {
+        int colon = location.indexOf(':');
+        return (colon >= 0) ? location.substring(colon + 1) : location;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.firstproject.view;
+
+import com.samskivert.mustache.Template;
+import lombok.Setter;
+import org.springframework.boot.web.servlet.view.MustacheView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// MustacheTemplateRegistry 에 보관된 컴파일된 템플릿으로 렌더링하는 뷰
+//
+// 스트리밍 렌더링: 모델 값 중 Collection 이 아닌 Iterable(예: ArticleService.iterateAll())은 전체를 메모리에 올리지 않고
+// 렌더링하면서 한 건씩 읽어오며, 첫 항목을 읽기 전에 그때까지 쓴 내용(헤더 등)을 클라이언트로 내보내고(flush)
+// 이후 flushInterval 건마다 다시 내보냄 -> 첫 바이트까지의 시간과 메모리 사용량이 목록 크기와 상관없이 일정
+@Setter
+public class PrecompiledMustacheView extends MustacheView {
+
+    private MustacheTemplateRegistry registry;
+
+    // 템플릿 이름 (뷰 이름과 같음, 예: articles/index)
+    private String templateName;
+
+    // 스트리밍 렌더링 시 몇 건마다 flush 할지 (0 이하면 스트리밍하지 않음)
+    private int flushInterval;
+
+    @Override
+    protected void renderMergedTemplateModel(Map<String, Object> model, HttpServletRequest request,
+                                             HttpServletResponse response) throws Exception {
+        Template template = registry.get(templateName);
+        Writer writer = response.getWriter();
+        template.execute(streaming(model, writer), writer);
+        writer.flush();
+    }
+
+    // 지연 로딩되는 Iterable 을 flush 하며 순회하는 Iterable 로 감싼 모델 반환
+    private Map<String, Object> streaming(Map<String, Object> model, Writer writer) {
+        if (flushInterval <= 0)
+            return model;
+
+        Map<String, Object> streamingModel = new HashMap<>(model);
+        model.forEach((name, value) -> {
+            if (value instanceof Iterable && !(value instanceof Collection))
+                streamingModel.put(name, new FlushingIterable<>((Iterable<?>) value, writer, flushInterval));
+        });
+        return streamingModel;
+    }
+}
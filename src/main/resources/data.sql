@@ -22,3 +22,9 @@ INSERT INTO comment(id, article_id, nickname, body) VALUES (6, 5, 'Choi', '초
 INSERT INTO comment(id, article_id, nickname, body) VALUES (7, 6, 'Park', '조깅');
 INSERT INTO comment(id, article_id, nickname, body) VALUES (8, 6, 'Koo', '유튜브');
 INSERT INTO comment(id, article_id, nickname, body) VALUES (9, 6, 'Choi', '독서');
+
+-- 닉네임 검색용 컬럼(소문자 닉네임) 채우기
+UPDATE comment SET nickname_key = LOWER(nickname) WHERE nickname_key IS NULL;
+
+-- 게시글별 댓글 수 채우기 (이후에는 댓글 생성/삭제 시 함께 갱신됨)
+UPDATE article SET comment_count = (SELECT COUNT(*) FROM comment WHERE comment.article_id = article.id);
@@ -0,0 +1,42 @@
+-- 운영(PostgreSQL) 스키마
+-- 운영 프로필은 스키마를 자동으로 바꾸지 않고(ddl-auto=validate) 시작할 때 엔티티와 맞는지만 확인하므로,
+-- 배포 전에 이 스크립트를 먼저 적용 (psql -f schema.sql)
+-- 여러 번 실행해도 안전하도록 작성 (이미 있는 테이블/컬럼/인덱스는 건너뜀)
+
+CREATE TABLE IF NOT EXISTS article (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(255),
+    content VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS comment (
+    id BIGSERIAL PRIMARY KEY,
+    article_id BIGINT REFERENCES article (id),
+    nickname VARCHAR(255),
+    body VARCHAR(255)
+);
+
+-- 낙관적 락 버전 (If-Match)
+ALTER TABLE article ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- 게시글별 댓글 수와 마지막 댓글 시각
+ALTER TABLE article ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE article ADD COLUMN IF NOT EXISTS last_commented_at TIMESTAMP;
+
+-- 대소문자 구분 없는 닉네임 검색용 컬럼
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS nickname_key VARCHAR(255);
+
+-- write-behind 로 저장된 댓글의 키
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS journal_key VARCHAR(36);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_comment_journal_key ON comment (journal_key);
+
+-- 닉네임 검색, 게시글별 댓글 조회용 인덱스 (Comment 엔티티의 @Table(indexes))
+CREATE INDEX IF NOT EXISTS idx_comment_nickname ON comment (nickname);
+CREATE INDEX IF NOT EXISTS idx_comment_nickname_key_id ON comment (nickname_key, id);
+CREATE INDEX IF NOT EXISTS idx_comment_article_id_id ON comment (article_id, id);
+
+-- 컬럼을 새로 추가했다면 기존 데이터로 채우기 (data.sql 과 같은 방식)
+UPDATE comment SET nickname_key = LOWER(nickname) WHERE nickname_key IS NULL AND nickname IS NOT NULL;
+UPDATE article SET comment_count = (SELECT COUNT(*) FROM comment WHERE comment.article_id = article.id)
+WHERE comment_count = 0 AND EXISTS (SELECT 1 FROM comment WHERE comment.article_id = article.id);
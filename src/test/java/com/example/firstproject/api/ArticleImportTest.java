@@ -0,0 +1,87 @@
+package com.example.firstproject.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 게시글 대량 등록 API 확인: 청크 단위 커밋, 실패한 청크만 롤백하고 207 과 실패 범위를 응답
+// 청크 크기를 2로 줄여 작은 본문으로도 여러 청크가 만들어지도록 함
+// 게시글을 추가하므로 다른 테스트와 겹치지 않는 별도의 인메모리 DB 를 사용
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:article-import;DB_CLOSE_ON_EXIT=FALSE",
+        "article.import.chunk-size=2",
+        "article.import.batch-size=1"
+})
+@AutoConfigureMockMvc
+class ArticleImportTest {
+
+    // article.title 컬럼(VARCHAR(255))보다 긴 제목, INSERT 가 실패함
+    static final String TOO_LONG = "x".repeat(300);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("모두 저장되면 200, 등록한 게시글은 검색 색인에도 추가됨")
+    void valid() throws Exception {
+        long before = countArticles();
+
+        mockMvc.perform(post("/api/articles/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + article("대량 등록 하나", "1") + "," + article("대량 등록 둘", "2") + "," +
+                                article("대량 등록 셋", "3") + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.errors").isEmpty());
+
+        assertEquals(before + 3, countArticles());
+        mockMvc.perform(get("/api/articles/search").param("q", "대량 등록"))
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 청크만 롤백하고 나머지 청크는 저장, 207 과 실패한 청크를 응답")
+    void chunkFails() throws Exception {
+        long before = countArticles();
+
+        // 청크: [0, 2) 저장, [2, 4) 3번째 게시글의 제목이 너무 길어 청크 전체 롤백, [4, 5) 저장
+        mockMvc.perform(post("/api/articles/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + article("청크 0", "0") + "," + article("청크 1", "1") + "," +
+                                article(TOO_LONG, "2") + "," + article("청크 3", "3") + "," +
+                                article("청크 4", "4") + "]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.requested").value(5))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].chunk").value(1))
+                .andExpect(jsonPath("$.errors[0].from").value(2))
+                .andExpect(jsonPath("$.errors[0].to").value(4));
+
+        assertEquals(before + 3, countArticles());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article WHERE title = '청크 3'", Long.class));
+    }
+
+    private static String article(String title, String content) {
+        return "{\"title\": \"" + title + "\", \"content\": \"" + content + "\"}";
+    }
+
+    private long countArticles() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article", Long.class);
+    }
+}
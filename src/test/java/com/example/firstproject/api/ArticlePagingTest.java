@@ -0,0 +1,138 @@
+package com.example.firstproject.api;
+
+import com.example.firstproject.dto.ArticlePage;
+import com.example.firstproject.dto.ArticleSummary;
+import com.example.firstproject.service.ArticleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 커서(keyset) 기반 게시글 목록 확인: after 커서, 다음 커서, 페이지 크기 보정, NDJSON 스트리밍
+// 최대 페이지 크기(MAX_PAGE_SIZE)보다 많은 게시글이 필요하므로 별도의 인메모리 DB 에 게시글을 추가
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:article-paging;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+class ArticlePagingTest {
+
+    // data.sql 의 6개를 포함한 전체 게시글 수 (id 는 1부터 차례대로)
+    static final int TOTAL = 156;
+
+    @Autowired
+    ArticleService articleService;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article", Long.class);
+        List<Object[]> rows = new ArrayList<>();
+        for (long i = count + 1; i <= TOTAL; i++) {
+            rows.add(new Object[]{"제목 " + i, "내용 " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO article(title, content) VALUES (?, ?)", rows);
+    }
+
+    @Test
+    @DisplayName("커서 이후의 size 개와 다음 커서, 마지막 페이지의 다음 커서는 null")
+    void pages() {
+        ArticlePage first = articleService.index(null, 2);
+        assertEquals(List.of(1L, 2L), ids(first.getArticles()));
+        assertEquals(2L, first.getNextCursor());
+
+        ArticlePage second = articleService.index(first.getNextCursor(), 2);
+        assertEquals(List.of(3L, 4L), ids(second.getArticles()));
+        assertEquals(4L, second.getNextCursor());
+
+        // 남은 게시글이 정확히 size 개여도 다음 페이지는 없음
+        ArticlePage last = articleService.index(TOTAL - 2L, 2);
+        assertEquals(List.of(TOTAL - 1L, (long) TOTAL), ids(last.getArticles()));
+        assertNull(last.getNextCursor());
+
+        ArticlePage empty = articleService.index((long) TOTAL, 2);
+        assertTrue(empty.getArticles().isEmpty());
+        assertNull(empty.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("size 가 0 이하면 기본값, 최대값보다 크면 최대값")
+    void pageSize() {
+        assertEquals(ArticleService.DEFAULT_PAGE_SIZE, articleService.index(null, 0).getArticles().size());
+        assertEquals(ArticleService.DEFAULT_PAGE_SIZE, articleService.index(null, -5).getArticles().size());
+
+        ArticlePage capped = articleService.index(null, 1000);
+        assertEquals(ArticleService.MAX_PAGE_SIZE, capped.getArticles().size());
+        assertEquals((long) ArticleService.MAX_PAGE_SIZE, capped.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("모든 게시글을 id 순으로 한 번씩 순회")
+    void iterateAll() {
+        List<Long> ids = new ArrayList<>();
+        for (ArticleSummary article : articleService.iterateAll()) {
+            ids.add(article.getId());
+        }
+        assertEquals(TOTAL, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1L, ids.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/articles: 다음 페이지가 있으면 X-Next-Cursor 헤더")
+    void api() throws Exception {
+        mockMvc.perform(get("/api/articles").param("after", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "4"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[1].id").value(4));
+
+        mockMvc.perform(get("/api/articles").param("after", String.valueOf(TOTAL - 1)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Accept: application/x-ndjson 이면 커서 이후의 모든 게시글을 한 줄에 하나씩")
+    void ndjson() throws Exception {
+        String body = mockMvc.perform(get("/api/articles").param("after", "50")
+                        .accept(ArticleApiController.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ArticleApiController.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(TOTAL - 50, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(51L + i, objectMapper.readTree(lines[i]).get("id").asLong());
+        }
+    }
+
+    private static List<Long> ids(List<ArticleSummary> articles) {
+        return articles.stream().map(ArticleSummary::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.firstproject.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 댓글 대량 등록 API 확인: 청크 단위 커밋, 실패한 청크만 롤백, 형식이 잘못된 본문은 그 앞까지만 저장
+// 청크 크기를 2로 줄여 작은 본문으로도 여러 청크가 만들어지도록 함
+// 댓글을 추가하므로 다른 테스트와 겹치지 않는 별도의 인메모리 DB 를 사용
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:comment-import;DB_CLOSE_ON_EXIT=FALSE",
+        "comment.import.chunk-size=2"
+})
+@AutoConfigureMockMvc
+class CommentImportTest {
+
+    // comment.nickname 컬럼(VARCHAR(255))보다 긴 닉네임, INSERT 가 실패함
+    static final String TOO_LONG = "x".repeat(300);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("모두 저장되면 200")
+    void valid() throws Exception {
+        long before = countComments(4L);
+
+        mockMvc.perform(post("/api/comments/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + comment(4L, "Lee", "인셉션") + "," + comment(4L, "Kim", "기생충") + "," +
+                                comment(4L, "Choi", "올드보이") + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.unreadFrom").doesNotExist());
+
+        assertEquals(before + 3, countComments(4L));
+        assertEquals(before + 3, commentCount(4L));
+    }
+
+    @Test
+    @DisplayName("NDJSON 본문도 받음")
+    void ndjson() throws Exception {
+        long before = countComments(6L);
+
+        mockMvc.perform(post("/api/comments/import")
+                        .contentType(ArticleApiController.APPLICATION_NDJSON)
+                        .content(comment(6L, "Lee", "등산") + "\n" + comment(6L, "Kim", "요리") + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        assertEquals(before + 2, countComments(6L));
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 청크만 롤백하고 나머지 청크는 저장, 207 과 실패 범위를 응답")
+    void chunkFails() throws Exception {
+        long before = countComments(5L);
+
+        // 청크: [0, 1] 저장, [2, 3] 2번의 닉네임이 너무 길어 청크 전체 롤백, [4] 저장
+        mockMvc.perform(post("/api/comments/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + comment(5L, "Lee", "1") + "," + comment(5L, "Lee", "2") + "," +
+                                comment(5L, TOO_LONG, "3") + "," + comment(5L, "Lee", "4") + "," +
+                                comment(5L, "Lee", "5") + "]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.received").value(5))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(2))
+                .andExpect(jsonPath("$.errors[0].count").value(2));
+
+        assertEquals(before + 3, countComments(5L));
+        assertEquals(before + 3, commentCount(5L));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM comment WHERE article_id = 5 AND body = '4'", Long.class));
+    }
+
+    @Test
+    @DisplayName("검증에 실패한 댓글만 제외하고 207")
+    void rejected() throws Exception {
+        mockMvc.perform(post("/api/comments/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + comment(-1L, "Lee", "없는 게시글") + "," + comment(2L, "Lee", "나나나나") + "]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(0));
+
+        assertEquals(1, countComments(2L));
+    }
+
+    @Test
+    @DisplayName("본문 중간에 형식이 잘못되면 그 앞까지만 저장하고 207 과 읽지 못한 위치를 응답")
+    void malformedBody() throws Exception {
+        long before = countComments(3L);
+
+        // 세 번째 청크의 두 번째 댓글(순번 5)이 잘못된 JSON, 같은 청크의 순번 4 까지는 저장됨
+        mockMvc.perform(post("/api/comments/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + comment(3L, "Lee", "0") + "," + comment(3L, "Lee", "1") + "," +
+                                comment(3L, "Lee", "2") + "," + comment(3L, "Lee", "3") + "," +
+                                comment(3L, "Lee", "4") + "," + "{\"article_id\": 3, \"nickname\": }," +
+                                comment(3L, "Lee", "6") + "]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.received").value(5))
+                .andExpect(jsonPath("$.imported").value(5))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.unreadFrom").value(5))
+                .andExpect(jsonPath("$.unreadReason").isNotEmpty());
+
+        assertEquals(before + 5, countComments(3L));
+        assertEquals(before + 5, commentCount(3L));
+    }
+
+    private static String comment(Long articleId, String nickname, String body) {
+        return "{\"article_id\": " + articleId + ", \"nickname\": \"" + nickname + "\", \"body\": \"" + body + "\"}";
+    }
+
+    private long countComments(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment WHERE article_id = ?", Long.class, articleId);
+    }
+
+    private long commentCount(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT comment_count FROM article WHERE id = ?", Long.class, articleId);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.firstproject.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// ETag / If-Match / If-None-Match 를 사용하는 조건부 요청 확인
+// 같은 ETag 로 두 번 수정하면 두 번째는 412, 바뀌지 않은 내용을 다시 조회하면 304
+// 게시글/댓글을 수정하므로 다른 테스트와 겹치지 않는 별도의 인메모리 DB 를 사용
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:conditional-request;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @DisplayName("게시글: 같은 ETag 로 두 번 수정하면 두 번째는 412")
+    void updateArticleTwice() throws Exception {
+        String eTag = eTagOf("/api/articles/1");
+
+        String updated = mockMvc.perform(patch("/api/articles/1")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 1, \"title\": \"첫 번째 수정\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("첫 번째 수정"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, updated);
+
+        mockMvc.perform(patch("/api/articles/1")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 1, \"title\": \"두 번째 수정\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/articles/1"))
+                .andExpect(jsonPath("$.title").value("첫 번째 수정"));
+
+        // 새 ETag 로는 수정 가능
+        mockMvc.perform(patch("/api/articles/1")
+                        .header(HttpHeaders.IF_MATCH, updated)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 1, \"title\": \"두 번째 수정\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("게시글: 이전 ETag 로 삭제하면 412")
+    void deleteArticleWithStaleETag() throws Exception {
+        String eTag = eTagOf("/api/articles/2");
+        mockMvc.perform(patch("/api/articles/2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 2, \"content\": \"수정\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/articles/2").header(HttpHeaders.IF_MATCH, eTag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/articles/2").header(HttpHeaders.IF_MATCH, eTagOf("/api/articles/2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("게시글: If-None-Match 가 같으면 304, 댓글이 달리면 다시 200")
+    void articleNotModified() throws Exception {
+        String eTag = eTagOf("/api/articles/5");
+
+        mockMvc.perform(get("/api/articles/5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // 댓글은 게시글의 버전을 올리지 않지만 ETag 에 댓글 수가 담겨 있으므로 304 로 가려지지 않음
+        mockMvc.perform(post("/api/articles/5/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"article_id\": 5, \"nickname\": \"Lee\", \"body\": \"떡볶이\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/articles/5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(4));
+    }
+
+    @Test
+    @DisplayName("댓글 목록: If-None-Match 가 같으면 304")
+    void commentsNotModified() throws Exception {
+        String eTag = eTagOf("/api/articles/6/comments");
+
+        mockMvc.perform(get("/api/articles/6/comments").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("댓글: 같은 ETag 로 두 번 수정하면 두 번째는 412, 형식이 잘못된 If-Match 도 412, * 는 조건 없음")
+    void updateCommentTwice() throws Exception {
+        String eTag = mockMvc.perform(patch("/api/comments/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 7, \"body\": \"달리기\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/comments/7")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 7, \"body\": \"수영\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/comments/7")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 7, \"body\": \"등산\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/comments/7")
+                        .header(HttpHeaders.IF_MATCH, "not-a-version")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 7, \"body\": \"등산\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/comments/7")
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 7, \"body\": \"등산\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.body").value("등산"));
+    }
+
+    @Test
+    @DisplayName("댓글: 이전 ETag 로 삭제하면 412")
+    void deleteCommentWithStaleETag() throws Exception {
+        mockMvc.perform(patch("/api/comments/8")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 8, \"body\": \"넷플릭스\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/comments/8").header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/comments/8").header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isOk());
+    }
+
+    private String eTagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.firstproject.api;
+
+import com.example.firstproject.dto.ArticleDetail;
+import com.example.firstproject.dto.CommentDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    @DisplayName("If-Match 에서 버전 읽기")
+    void expectedVersion() {
+        // 헤더가 없거나 * 이면 조건 없음
+        assertNull(ETags.expectedVersion(null));
+        assertNull(ETags.expectedVersion("*"));
+        assertNull(ETags.expectedVersion(" * "));
+
+        assertEquals(3L, ETags.expectedVersion("\"3\""));
+        assertEquals(3L, ETags.expectedVersion(" \"3\" "));
+        assertEquals(3L, ETags.expectedVersion("3"));
+        assertEquals(3L, ETags.expectedVersion("W/\"3\""));
+        // 게시글의 ETag 는 버전 부분만 사용
+        assertEquals(3L, ETags.expectedVersion("\"3.12.1697000000000\""));
+
+        // 형식이 잘못되었거나 여러 값이 나열되었다면 어떤 버전과도 일치하지 않는 -1
+        assertEquals(-1L, ETags.expectedVersion("\"abc\""));
+        assertEquals(-1L, ETags.expectedVersion("\"\""));
+        assertEquals(-1L, ETags.expectedVersion("\"1\", \"2\""));
+        assertEquals(-1L, ETags.expectedVersion("W/\"1-abc\""));
+    }
+
+    @Test
+    @DisplayName("게시글 ETag 는 버전, 댓글 수, 마지막 댓글 시각으로 만들고 If-Match 로 다시 읽으면 버전")
+    void article() {
+        LocalDateTime at = LocalDateTime.of(2023, 10, 1, 12, 0);
+        long millis = at.toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        String eTag = ETags.of(new ArticleDetail(4L, "제목", "내용", 2L, 3L, at));
+        assertEquals("\"2.3." + millis + "\"", eTag);
+        assertEquals(2L, ETags.expectedVersion(eTag));
+
+        assertEquals("\"2.0.0\"", ETags.of(new ArticleDetail(4L, "제목", "내용", 2L, 0L, null)));
+        // 댓글 수만 바뀌어도 다른 값
+        assertNotEquals(eTag, ETags.of(new ArticleDetail(4L, "제목", "내용", 2L, 4L, at)));
+    }
+
+    @Test
+    @DisplayName("댓글 목록 ETag 는 약한 ETag 이고, 댓글의 (id, 버전)이 바뀌면 달라짐")
+    void comments() {
+        List<CommentDto> dtos = List.of(
+                new CommentDto(1L, 4L, "Park", "굳 윌 헌팅", 0L),
+                new CommentDto(2L, 4L, "Koo", "아이 엠 구", 0L));
+
+        String eTag = ETags.of(dtos);
+        assertTrue(eTag.startsWith("W/\""));
+        // 내용이 아닌 (id, 버전)으로 계산
+        assertEquals(eTag, ETags.of(List.of(
+                new CommentDto(1L, 4L, "Park", "굳 윌 헌팅", 0L),
+                new CommentDto(2L, 4L, "Koo", "아이 엠 구", 0L))));
+
+        assertNotEquals(eTag, ETags.of(List.of(
+                new CommentDto(1L, 4L, "Park", "굳 윌 헌팅", 0L),
+                new CommentDto(2L, 4L, "Koo", "아이 엠 구", 1L))));
+        assertNotEquals(eTag, ETags.of(dtos.subList(0, 1)));
+        assertNotEquals(eTag, ETags.of(List.of()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.firstproject.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 두 개의 인메모리 H2 를 primary 와 복제본으로 사용하여, 트랜잭션 종류와 복제본 상태에 따라 어느 쪽에서 읽는지 확인
+// 각 DB 의 node 테이블에는 자신의 이름이 들어 있음
+class ReplicaRoutingDataSourceTest {
+
+    DriverManagerDataSource primary;
+    DriverManagerDataSource replica;
+    ReplicaRoutingDataSource routingDataSource;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing-primary");
+        replica = h2("routing-replica");
+        new JdbcTemplate(primary).execute("INSERT INTO node VALUES ('primary', 0)");
+        new JdbcTemplate(replica).execute("INSERT INTO node VALUES ('replica', 0)");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary,
+                List.of(new ReplicaRoutingDataSource.Replica("replica", replica)),
+                1000, "SELECT lag FROM node", 60_000);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        routingDataSource.close();
+        new JdbcTemplate(h2Url("routing-primary")).execute("DROP TABLE node");
+        new JdbcTemplate(h2Url("routing-replica")).execute("DROP TABLE node");
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제본, 나머지는 primary 에서 실행")
+    void routeByReadOnly() {
+        assertEquals("primary", readWrite.execute(status -> nodeName()));
+        assertEquals("replica", readOnly.execute(status -> nodeName()));
+        // 트랜잭션 밖
+        assertEquals("primary", nodeName());
+    }
+
+    @Test
+    @DisplayName("primary 로 보내도록 표시된 스레드는 읽기 전용 트랜잭션도 primary 에서 실행")
+    void forcePrimary() {
+        ReplicaRoutingDataSource.forcePrimary(true);
+        try {
+            assertEquals("primary", readOnly.execute(status -> nodeName()));
+        } finally {
+            ReplicaRoutingDataSource.forcePrimary(false);
+        }
+        assertEquals("replica", readOnly.execute(status -> nodeName()));
+    }
+
+    @Test
+    @DisplayName("복제 지연이 허용치를 넘으면 primary 에서 읽고, 따라잡으면 다시 복제본에서 읽음")
+    void fallbackWhenLagging() {
+        new JdbcTemplate(replica).update("UPDATE node SET lag = 5000");
+        routingDataSource.checkReplicas();
+        assertEquals("primary", readOnly.execute(status -> nodeName()));
+
+        new JdbcTemplate(replica).update("UPDATE node SET lag = 10");
+        routingDataSource.checkReplicas();
+        assertEquals("replica", readOnly.execute(status -> nodeName()));
+    }
+
+    @Test
+    @DisplayName("복제본에 연결할 수 없으면 primary 에서 읽음")
+    void fallbackWhenDown() {
+        replica.setUrl("jdbc:h2:tcp://localhost:1/unreachable");
+        assertEquals("primary", readOnly.execute(status -> nodeName()));
+
+        routingDataSource.checkReplicas();
+        assertEquals("primary", readOnly.execute(status -> nodeName()));
+    }
+
+    private String nodeName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    // 마지막 커넥션이 닫혀도 사라지지 않는 인메모리 H2, node 테이블을 만들어 둠
+    private static DriverManagerDataSource h2(String name) {
+        DriverManagerDataSource dataSource = h2Url(name);
+        new JdbcTemplate(dataSource).execute("CREATE TABLE node(name VARCHAR(20), lag BIGINT)");
+        return dataSource;
+    }
+
+    private static DriverManagerDataSource h2Url(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
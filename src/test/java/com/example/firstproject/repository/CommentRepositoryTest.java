@@ -1,23 +1,32 @@
 package com.example.firstproject.repository;
 
+import com.example.firstproject.dto.CommentDto;
 import com.example.firstproject.entity.Article;
 import com.example.firstproject.entity.Comment;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
+import javax.persistence.EntityManager;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-@DataJpaTest // JPA 와 연동한 테스트!
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true") // JPA 와 연동한 테스트! (실행된 쿼리 수 집계)
 class CommentRepositoryTest {
 
     @Autowired
     CommentRepository commentRepository;
 
+    @Autowired
+    EntityManager entityManager;
+
     @Test
     @DisplayName("특정 게시글의 모든 댓글 조회")
         // 테스트 결과에 보여줄 이름
@@ -186,4 +195,109 @@ class CommentRepositoryTest {
             assertEquals(expected.toString(), comments.toString(), "i의 모든 댓글을 출력!");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("댓글 조회 시 게시글을 추가로 조회하지 않음(N+1 방지)")
+    void noArticleFetchPerComment() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        /* Case 1: 여러 게시글에 걸친 "Park"의 댓글을 DTO 로 변환 */
+        {
+            // 준비
+            entityManager.clear();
+            statistics.clear();
+
+            // 실제 수행
+            List<CommentDto> dtos = commentRepository.findByNickname("Park")
+                    .stream()
+                    .map(comment -> CommentDto.createCommentDto(comment))
+                    .collect(Collectors.toList());
+
+            // 검증: 댓글 조회 쿼리 1번만 실행되어야 함 (게시글 4, 5, 6번을 따로 조회하지 않음)
+            assertEquals(3, dtos.size());
+            assertEquals(1, statistics.getPrepareStatementCount(), "게시글마다 추가 조회가 발생함!");
+        }
+
+        /* Case 2: 4번 게시글의 댓글을 DTO 로 바로 조회 */
+        {
+            // 준비
+            entityManager.clear();
+            statistics.clear();
+
+            // 실제 수행
+            List<CommentDto> dtos = commentRepository.findDtosByArticleId(4L);
+
+            // 예상하기
+            List<CommentDto> expected = Arrays.asList(
+                    new CommentDto(1L, 4L, "Park", "굳 윌 헌팅"),
+                    new CommentDto(2L, 4L, "Koo", "아이 엠 구"),
+                    new CommentDto(3L, 4L, "Choi", "쇼생크의 탈출"));
+
+            // 검증: 쿼리 1번, 영속성 컨텍스트에 엔티티가 남지 않음
+            assertEquals(expected.toString(), dtos.toString());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+        }
+    }
+
+    @Test
+    @DisplayName("닉네임(소문자 키)이 일치하는 댓글을 커서 이후부터 size 개 조회")
+    void findPageByNicknameKey() {
+        /* Case 1: "park" 의 첫 페이지 */
+        {
+            List<CommentDto> dtos = commentRepository.findPageByNicknameKey("park", 0L, PageRequest.of(0, 2));
+            assertEquals(List.of(1L, 4L), ids(dtos));
+        }
+
+        /* Case 2: 커서(4) 이후 */
+        {
+            List<CommentDto> dtos = commentRepository.findPageByNicknameKey("park", 4L, PageRequest.of(0, 2));
+            assertEquals(List.of(7L), ids(dtos));
+        }
+
+        /* Case 3: 키는 소문자이므로 원래 닉네임으로는 찾지 않음 (대소문자 변환은 서비스에서) */
+        {
+            assertEquals(List.of(), commentRepository.findPageByNicknameKey("Park", 0L, PageRequest.of(0, 10)));
+        }
+    }
+
+    @Test
+    @DisplayName("LIKE 패턴은 '!' 로 이스케이프한 %, _ 를 일반 문자로 취급")
+    void findPageByNicknameKeyLike() {
+        // 준비: 특수문자가 들어간 닉네임의 댓글
+        Article article = entityManager.find(Article.class, 4L);
+        Long percent = commentRepository.save(new Comment(null, article, "50%off", "a")).getId();
+        Long percentLike = commentRepository.save(new Comment(null, article, "50percent", "b")).getId();
+        Long underscore = commentRepository.save(new Comment(null, article, "a_b", "c")).getId();
+        Long underscoreLike = commentRepository.save(new Comment(null, article, "axb", "d")).getId();
+        Long backslash = commentRepository.save(new Comment(null, article, "back\\slash", "e")).getId();
+        commentRepository.save(new Comment(null, article, "backslash", "f"));
+
+        /* Case 1: 이스케이프하지 않은 % 와 _ 는 와일드카드 */
+        {
+            assertEquals(List.of(percent, percentLike), ids(findLike("50%")));
+            assertEquals(List.of(underscore, underscoreLike), ids(findLike("a_b%")));
+        }
+
+        /* Case 2: 이스케이프한 % 와 _ 는 그 문자만 */
+        {
+            assertEquals(List.of(percent), ids(findLike("50!%%")));
+            assertEquals(List.of(underscore), ids(findLike("a!_b%")));
+        }
+
+        /* Case 3: 이스케이프 문자가 '!' 이므로 '\' 는 일반 문자 */
+        {
+            assertEquals(List.of(backslash), ids(findLike("back\\%")));
+        }
+    }
+
+    private List<CommentDto> findLike(String pattern) {
+        return commentRepository.findPageByNicknameKeyLike(pattern, 0L, PageRequest.of(0, 10));
+    }
+
+    private static List<Long> ids(List<CommentDto> dtos) {
+        return dtos.stream().map(CommentDto::getId).collect(Collectors.toList());
+    }
+}
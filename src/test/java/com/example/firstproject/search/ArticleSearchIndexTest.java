@@ -0,0 +1,104 @@
+package com.example.firstproject.search;
+
+import com.example.firstproject.entity.Article;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 토큰 분리, BM25 순위, 색인 갱신/제거와 트랜잭션 커밋/롤백에 따른 반영 시점 확인
+// DB 를 읽는 build/indexAfter 외에는 리포지토리가 필요 없으므로 스프링 없이 생성
+class ArticleSearchIndexTest {
+
+    ArticleSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ArticleSearchIndex();
+        searchIndex.index(new Article(1L, "인생 영화 추천", "영화 영화 영화"));
+        searchIndex.index(new Article(2L, "주말에 본 영화", "팝콘이 맛있었다"));
+        searchIndex.index(new Article(3L, "소울 푸드", "치킨"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("단어를 2글자씩 겹쳐 자르고, 한 글자 단어는 그대로 사용")
+    void tokenize() {
+        assertEquals(List.of("인생", "영화", "화는"), ArticleSearchIndex.tokenize("인생 영화는?"));
+        assertEquals(List.of("ㄱ", "나", "다라"), ArticleSearchIndex.tokenize("ㄱ, 나 다라"));
+        // 영문은 소문자로, 숫자도 글자로 취급
+        assertEquals(List.of("he", "el", "ll", "lo", "a1"), ArticleSearchIndex.tokenize("Hello A1"));
+        assertEquals(List.of(), ArticleSearchIndex.tokenize("?! ..."));
+        assertEquals(List.of(), ArticleSearchIndex.tokenize(null));
+    }
+
+    @Test
+    @DisplayName("관련도(BM25)가 높은 순으로 최대 k 개")
+    void topK() {
+        // 1번은 '영화' 가 네 번, 2번은 한 번
+        assertEquals(List.of(1L, 2L), searchIndex.search("영화", 10));
+        assertEquals(List.of(1L), searchIndex.search("영화", 1));
+        // 질의어의 토큰이 더 많이 일치하는 게시글이 먼저
+        assertEquals(List.of(2L, 1L), searchIndex.search("주말 영화", 10));
+        assertEquals(List.of(3L), searchIndex.search("치킨", 10));
+
+        assertEquals(List.of(), searchIndex.search("떡볶이", 10));
+        assertEquals(List.of(), searchIndex.search("?", 10));
+        assertEquals(List.of(), searchIndex.search("영화", 0));
+    }
+
+    @Test
+    @DisplayName("수정된 게시글은 이전 내용의 토큰으로 찾을 수 없고, 삭제된 게시글은 검색되지 않음")
+    void updateAndRemove() {
+        searchIndex.index(new Article(1L, "오늘의 여행지", "바다"));
+        assertEquals(List.of(2L), searchIndex.search("영화", 10));
+        assertEquals(List.of(1L), searchIndex.search("여행", 10));
+
+        // 3번에만 있던 토큰(소울, 푸드, 치킨)은 색인에서 제거됨
+        int termCount = searchIndex.termCount();
+        searchIndex.remove(3L);
+        assertEquals(List.of(), searchIndex.search("치킨", 10));
+        assertEquals(2, searchIndex.size());
+        assertEquals(termCount - 3, searchIndex.termCount());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 커밋된 뒤에 반영")
+    void afterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        searchIndex.index(new Article(4L, "커밋될 게시글", "떡볶이"));
+        searchIndex.remove(3L);
+        assertEquals(List.of(), searchIndex.search("떡볶이", 10));
+        assertEquals(List.of(3L), searchIndex.search("치킨", 10));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertEquals(List.of(4L), searchIndex.search("떡볶이", 10));
+        assertEquals(List.of(), searchIndex.search("치킨", 10));
+    }
+
+    @Test
+    @DisplayName("롤백되면 반영하지 않음")
+    void rollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        searchIndex.index(new Article(1L, "롤백될 제목", "떡볶이"));
+        searchIndex.remove(3L);
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(List.of(), searchIndex.search("떡볶이", 10));
+        assertEquals(List.of(1L, 2L), searchIndex.search("영화", 10));
+        assertEquals(List.of(3L), searchIndex.search("치킨", 10));
+    }
+}
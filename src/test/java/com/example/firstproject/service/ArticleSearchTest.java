@@ -0,0 +1,83 @@
+package com.example.firstproject.service;
+
+import com.example.firstproject.dto.ArticleForm;
+import com.example.firstproject.dto.ArticleSummary;
+import com.example.firstproject.repository.ArticleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// 게시글 검색이 서비스의 생성/수정/삭제 트랜잭션과 함께 색인에 반영되는지 확인
+// 게시글을 수정/삭제하므로 다른 테스트와 겹치지 않는 별도의 인메모리 DB 를 사용
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:article-search;DB_CLOSE_ON_EXIT=FALSE"
+})
+class ArticleSearchTest {
+
+    @Autowired
+    ArticleService articleService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    ArticleRepository articleRepository;
+
+    @Test
+    @DisplayName("일치하는 게시글이 없으면 DB 를 조회하지 않고 빈 목록")
+    void noMatch() {
+        clearInvocations(articleRepository);
+        assertTrue(articleService.search("존재하지않는검색어", 10).isEmpty());
+        verify(articleRepository, never()).findSummariesByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("생성/수정한 게시글은 커밋 이후 새 내용으로 검색됨")
+    void createAndUpdate() {
+        Long id = articleService.create(new ArticleForm(null, "주말 여행 후기", "바다")).getId();
+        assertEquals(List.of(id), ids(articleService.search("여행", 10)));
+
+        articleService.update(id, new ArticleForm(id, "주말 등산 후기", null));
+        assertEquals(List.of(), ids(articleService.search("여행", 10)));
+        assertEquals(List.of(id), ids(articleService.search("등산", 10)));
+    }
+
+    @Test
+    @DisplayName("삭제한 게시글은 검색되지 않음")
+    void delete() {
+        assertEquals(List.of(3L), ids(articleService.search("다다다다", 10)));
+
+        articleService.delete(3L);
+        assertEquals(List.of(), ids(articleService.search("다다다다", 10)));
+    }
+
+    @Test
+    @DisplayName("롤백된 수정은 색인에 반영되지 않음")
+    void rollback() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            articleService.update(2L, new ArticleForm(2L, "롤백될 제목", null));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(), ids(articleService.search("롤백", 10)));
+        assertEquals(List.of(2L), ids(articleService.search("나나나나", 10)));
+    }
+
+    private static List<Long> ids(List<ArticleSummary> articles) {
+        return articles.stream().map(ArticleSummary::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.firstproject.service;
+
+import com.example.firstproject.config.CacheConfig;
+import com.example.firstproject.dto.ArticleForm;
+import com.example.firstproject.dto.CommentDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 게시글/댓글을 바꾸면 게시글(articles), 댓글 목록(comments), 렌더링된 페이지(articlePages) 캐시에서
+// 그 게시글의 항목이 제거되어 다음 조회에서 바뀐 내용이 보이는지 확인
+// 게시글/댓글을 수정하므로 다른 테스트와 겹치지 않는 별도의 인메모리 DB 를 사용
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:cache-eviction;DB_CLOSE_ON_EXIT=FALSE"
+})
+class CacheEvictionTest {
+
+    @Autowired
+    ArticleService articleService;
+
+    @Autowired
+    CommentService commentService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    @DisplayName("같은 게시글을 다시 조회하면 캐시된 값을 그대로 사용")
+    void cached() {
+        assertSame(articleService.detail(1L), articleService.detail(1L));
+        assertSame(commentService.comments(4L), commentService.comments(4L));
+        assertTrue(cached(CacheConfig.ARTICLES, 1L));
+        assertTrue(cached(CacheConfig.COMMENTS, 4L));
+
+        // 존재하지 않는 게시글은 캐시하지 않음
+        assertNull(articleService.detail(-1L));
+        assertFalse(cached(CacheConfig.ARTICLES, -1L));
+    }
+
+    @Test
+    @DisplayName("댓글 생성: 게시글, 댓글 목록, 렌더링된 페이지 모두 제거")
+    void createComment() {
+        fill(4L);
+
+        commentService.create(4L, new CommentDto(null, 4L, "Lee", "인셉션"));
+
+        assertEvicted(4L, CacheConfig.ARTICLES, CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES);
+        assertEquals(4, commentService.comments(4L).size());
+        assertEquals(4L, articleService.detail(4L).getCommentCount());
+    }
+
+    @Test
+    @DisplayName("댓글 수정: 댓글 목록과 렌더링된 페이지를 제거 (댓글 수는 그대로이므로 게시글은 유지)")
+    void updateComment() {
+        fill(5L);
+
+        commentService.update(4L, new CommentDto(4L, 5L, null, "양념 치킨"));
+
+        assertEvicted(5L, CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES);
+        assertTrue(cached(CacheConfig.ARTICLES, 5L));
+        assertEquals("양념 치킨", commentService.comments(5L).get(0).getBody());
+    }
+
+    @Test
+    @DisplayName("댓글 삭제: 댓글이 속한 게시글(#result.articleId)의 항목을 모두 제거")
+    void deleteComment() {
+        fill(6L);
+
+        commentService.delete(9L);
+
+        assertEvicted(6L, CacheConfig.ARTICLES, CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES);
+        assertEquals(2, commentService.comments(6L).size());
+        assertEquals(2L, articleService.detail(6L).getCommentCount());
+    }
+
+    @Test
+    @DisplayName("게시글 수정: 게시글과 렌더링된 페이지를 제거")
+    void updateArticle() {
+        fill(2L);
+
+        articleService.update(2L, new ArticleForm(2L, "수정된 제목", null));
+
+        assertEvicted(2L, CacheConfig.ARTICLES, CacheConfig.ARTICLE_PAGES);
+        assertEquals("수정된 제목", articleService.detail(2L).getTitle());
+    }
+
+    @Test
+    @DisplayName("댓글 대량 등록: 댓글이 추가된 게시글의 항목을 모두 제거")
+    void importComments() {
+        fill(3L);
+
+        commentService.importComments(List.of(new CommentDto(null, 3L, "Lee", "다다다다")).iterator());
+
+        assertEvicted(3L, CacheConfig.ARTICLES, CacheConfig.COMMENTS, CacheConfig.ARTICLE_PAGES);
+        assertEquals(1, commentService.comments(3L).size());
+    }
+
+    // 세 캐시에 게시글의 항목을 채움 (렌더링된 페이지는 내용과 상관없이 항목이 있는지만 확인)
+    private void fill(Long articleId) {
+        articleService.detail(articleId);
+        commentService.comments(articleId);
+        cacheManager.getCache(CacheConfig.ARTICLE_PAGES).put(articleId, "page");
+        assertTrue(cached(CacheConfig.ARTICLES, articleId));
+        assertTrue(cached(CacheConfig.COMMENTS, articleId));
+        assertTrue(cached(CacheConfig.ARTICLE_PAGES, articleId));
+    }
+
+    private void assertEvicted(Long articleId, String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            assertFalse(cached(cacheName, articleId), cacheName + " 캐시에 남아 있음");
+        }
+    }
+
+    private boolean cached(String cacheName, Long key) {
+        return cacheManager.getCache(cacheName).get(key) != null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.firstproject.service;
+
+import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.dto.CommentImportResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 댓글 생성/삭제/대량 등록 시 게시글의 댓글 수(comment_count)와 마지막 댓글 시각(last_commented_at) 갱신 확인
+// 댓글을 추가/삭제하므로 다른 테스트와 겹치지 않는 별도의 인메모리 DB 를 사용
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:comment-counter;DB_CLOSE_ON_EXIT=FALSE"
+})
+class CommentCounterTest {
+
+    @Autowired
+    CommentService commentService;
+
+    @Autowired
+    ArticleService articleService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("댓글을 생성하면 댓글 수가 늘고 마지막 댓글 시각이 기록됨")
+    void create() {
+        assertEquals(3, commentCount(4L));
+        assertNull(lastCommentedAt(4L));
+
+        commentService.create(4L, new CommentDto(null, 4L, "Lee", "인셉션"));
+
+        assertEquals(4, commentCount(4L));
+        assertEquals(4, countComments(4L));
+        assertNotNull(lastCommentedAt(4L));
+        // 게시글 캐시도 제거되어 바뀐 댓글 수가 보임
+        assertEquals(4L, articleService.detail(4L).getCommentCount());
+    }
+
+    @Test
+    @DisplayName("댓글을 삭제하면 댓글 수가 줄고, 모두 삭제되면 마지막 댓글 시각이 비워짐")
+    void delete() {
+        commentService.create(5L, new CommentDto(null, 5L, "Lee", "떡볶이"));
+        Timestamp lastCommentedAt = lastCommentedAt(5L);
+
+        List<CommentDto> comments = commentService.comments(5L);
+        commentService.delete(comments.get(comments.size() - 1).getId());
+        assertEquals(3, commentCount(5L));
+        // 댓글이 남아 있으면 마지막 활동 시각으로 그대로 둠
+        assertEquals(lastCommentedAt, lastCommentedAt(5L));
+
+        for (CommentDto comment : commentService.comments(5L)) {
+            commentService.delete(comment.getId());
+        }
+        assertEquals(0, commentCount(5L));
+        assertEquals(0, countComments(5L));
+        assertNull(lastCommentedAt(5L));
+    }
+
+    @Test
+    @DisplayName("대량 등록은 게시글마다 추가된 댓글 수만큼 늘림, 저장되지 않은 댓글은 세지 않음")
+    void importComments() {
+        long before = commentCount(6L);
+
+        CommentImportResult result = commentService.importComments(List.of(
+                new CommentDto(null, 6L, "Lee", "등산"),
+                new CommentDto(null, 6L, "Kim", "요리"),
+                new CommentDto(null, 1L, "Lee", "가가가가"),
+                new CommentDto(null, -1L, "Lee", "없는 게시글")).iterator());
+
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(before + 2, commentCount(6L));
+        assertEquals(countComments(6L), commentCount(6L));
+        assertEquals(1, commentCount(1L));
+        assertNotNull(lastCommentedAt(6L));
+        assertNotNull(lastCommentedAt(1L));
+        assertEquals(before + 2, articleService.detail(6L).getCommentCount());
+    }
+
+    private long commentCount(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT comment_count FROM article WHERE id = ?", Long.class, articleId);
+    }
+
+    private long countComments(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment WHERE article_id = ?", Long.class, articleId);
+    }
+
+    private Timestamp lastCommentedAt(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT last_commented_at FROM article WHERE id = ?", Timestamp.class, articleId);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.firstproject.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 댓글 저널 파일의 기록/읽기/저장 완료 처리와, 다시 열었을 때의 복구 확인
+class CommentJournalTest {
+
+    // 헤더(24 bytes) 뒤의 레코드 영역, 닉네임/내용이 짧은 레코드가 대략 열 개 들어가는 크기
+    static final int SMALL = 24 + 700;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("기록한 순서대로 읽고, 저장 완료 처리한 레코드는 다시 읽지 않음")
+    void appendReadCommit() throws IOException {
+        UUID key = UUID.randomUUID();
+        try (CommentJournal journal = CommentJournal.open(dir.resolve("journal.dat"), 4096, false)) {
+            assertTrue(journal.append(1, key, 4, "Park", "굳 윌 헌팅"));
+            assertTrue(journal.append(2, UUID.randomUUID(), 4, null, null));
+            assertTrue(journal.append(3, UUID.randomUUID(), 5, "Koo", "샤브샤브"));
+
+            CommentJournal.Batch batch = journal.read(2);
+            List<CommentJournal.Entry> entries = batch.getEntries();
+            assertEquals(2, entries.size());
+            assertEquals(1, entries.get(0).getJournalId());
+            assertEquals(key, entries.get(0).getKey());
+            assertEquals(4, entries.get(0).getArticleId());
+            assertEquals("Park", entries.get(0).getNickname());
+            assertEquals("굳 윌 헌팅", entries.get(0).getBody());
+            assertNull(entries.get(1).getNickname());
+            assertNull(entries.get(1).getBody());
+
+            journal.commit(batch.getEnd());
+            entries = journal.read(10).getEntries();
+            assertEquals(1, entries.size());
+            assertEquals(3, entries.get(0).getJournalId());
+
+            journal.commit(journal.read(10).getEnd());
+            assertEquals(0, journal.pendingBytes());
+            assertTrue(journal.read(10).getEntries().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("다시 열면 저장 완료되지 않은 레코드부터 읽음")
+    void reopen() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        try (CommentJournal journal = CommentJournal.open(file, 4096, false)) {
+            journal.append(1, UUID.randomUUID(), 4, "Park", "1");
+            journal.append(2, UUID.randomUUID(), 4, "Koo", "2");
+            journal.append(3, UUID.randomUUID(), 4, "Choi", "3");
+            journal.commit(journal.read(1).getEnd());
+        }
+
+        try (CommentJournal journal = CommentJournal.open(file, 4096, false)) {
+            assertEquals(3, journal.getMaxJournalId());
+            List<CommentJournal.Entry> entries = journal.read(10).getEntries();
+            assertEquals(List.of(2L, 3L), entries.stream().map(CommentJournal.Entry::getJournalId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("쓰다가 끊긴 마지막 레코드는 다시 열 때 버리고, 그 자리부터 다시 기록")
+    void truncatedLastRecord() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        try (CommentJournal journal = CommentJournal.open(file, 4096, false)) {
+            journal.append(1, UUID.randomUUID(), 4, "Park", "굳 윌 헌팅");
+            journal.append(2, UUID.randomUUID(), 4, "Koo", "아이 엠 구");
+        }
+        // 마지막 레코드의 끝부분이 디스크에 기록되지 않은 상태로 만듦 (기록된 위치는 헤더의 16번째 byte)
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer written = ByteBuffer.allocate(8);
+            channel.read(written, 16);
+            long end = 24 + written.flip().getLong();
+            channel.write(ByteBuffer.allocate(3), end - 3);
+        }
+
+        try (CommentJournal journal = CommentJournal.open(file, 4096, false)) {
+            List<CommentJournal.Entry> entries = journal.read(10).getEntries();
+            assertEquals(1, entries.size());
+            assertEquals(1, entries.get(0).getJournalId());
+
+            journal.append(3, UUID.randomUUID(), 4, "Choi", "쇼생크의 탈출");
+            entries = journal.read(10).getEntries();
+            assertEquals(List.of(1L, 3L), entries.stream().map(CommentJournal.Entry::getJournalId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("저장 완료된 공간을 다시 사용하므로, 저널이 비는 순간이 없어도 계속 기록할 수 있음")
+    void wrapAround() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        try (CommentJournal journal = CommentJournal.open(file, SMALL, false)) {
+            // 항상 두 개 이상 남겨둔 채로 저장 완료 처리 (영역 크기의 수십 배를 기록)
+            journal.append(1, UUID.randomUUID(), 4, "nickname", "body 1");
+            for (long id = 2; id <= 300; id++) {
+                assertTrue(journal.append(id, UUID.randomUUID(), 4, "nickname", "body " + id), "journal id " + id);
+                journal.commit(journal.read(1).getEnd());
+            }
+            List<CommentJournal.Entry> entries = journal.read(10).getEntries();
+            assertEquals(List.of(300L), entries.stream().map(CommentJournal.Entry::getJournalId).toList());
+
+            // 저장되지 않은 레코드로 가득 차면 false
+            long id = 301;
+            while (journal.append(id, UUID.randomUUID(), 4, "nickname", "body " + id))
+                id++;
+            assertTrue(journal.pendingBytes() <= SMALL - 24);
+            assertEquals(id - 300, journal.read(100).getEntries().size());
+        }
+
+        // 영역 끝을 넘어간 레코드들도 다시 열었을 때 그대로 읽힘
+        try (CommentJournal journal = CommentJournal.open(file, SMALL, false)) {
+            List<CommentJournal.Entry> entries = journal.read(100).getEntries();
+            assertEquals(300L, entries.get(0).getJournalId());
+            for (int i = 1; i < entries.size(); i++) {
+                assertEquals(entries.get(i - 1).getJournalId() + 1, entries.get(i).getJournalId());
+                assertEquals("body " + entries.get(i).getJournalId(), entries.get(i).getBody());
+            }
+        }
+    }
+}
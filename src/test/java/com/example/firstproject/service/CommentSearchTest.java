@@ -0,0 +1,103 @@
+package com.example.firstproject.service;
+
+import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.dto.CommentPage;
+import com.example.firstproject.entity.Article;
+import com.example.firstproject.entity.Comment;
+import com.example.firstproject.repository.CommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 닉네임 댓글 검색 확인: 대소문자 무시, 앞부분 일치(LIKE 특수문자 이스케이프), 커서 페이지
+// 테스트마다 추가한 댓글은 롤백됨
+@SpringBootTest(properties = "debugging.mode=OFF")
+@Transactional
+class CommentSearchTest {
+
+    @Autowired
+    CommentService commentService;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Long percent;
+    Long underscore;
+    Long bang;
+    Long backslash;
+
+    @BeforeEach
+    void setUp() {
+        // LIKE 패턴에서 특별한 의미가 있는 문자가 들어간 닉네임과, 그 문자가 와일드카드로 해석되면 함께 걸리는 닉네임
+        Article article = entityManager.find(Article.class, 4L);
+        percent = save(article, "50%OFF");
+        save(article, "50percent");
+        underscore = save(article, "a_b");
+        save(article, "axb");
+        bang = save(article, "wow!");
+        save(article, "wowx");
+        backslash = save(article, "back\\slash");
+        save(article, "backslash");
+    }
+
+    @Test
+    @DisplayName("닉네임이 일치하는 댓글, 대소문자 무시")
+    void exact() {
+        assertEquals(List.of(1L, 4L, 7L), ids(commentService.searchByNickname("PARK", false, null, 10)));
+        assertEquals(List.of(percent), ids(commentService.searchByNickname("50%off", false, null, 10)));
+        assertEquals(List.of(), ids(commentService.searchByNickname("Par", false, null, 10)));
+    }
+
+    @Test
+    @DisplayName("앞부분 일치 검색에서 %, _, !, \\ 는 일반 문자")
+    void prefixEscapesLike() {
+        assertEquals(List.of(percent), ids(commentService.searchByNickname("50%", true, null, 10)));
+        assertEquals(List.of(underscore), ids(commentService.searchByNickname("a_", true, null, 10)));
+        assertEquals(List.of(bang), ids(commentService.searchByNickname("wow!", true, null, 10)));
+        assertEquals(List.of(backslash), ids(commentService.searchByNickname("back\\", true, null, 10)));
+        assertEquals(List.of(1L, 4L, 7L), ids(commentService.searchByNickname("pa", true, null, 10)));
+    }
+
+    @Test
+    @DisplayName("커서 이후의 size 개와 다음 커서, 마지막 페이지의 다음 커서는 null")
+    void pages() {
+        CommentPage first = commentService.searchByNickname("park", false, null, 2);
+        assertEquals(List.of(1L, 4L), ids(first));
+        assertEquals(4L, first.getNextCursor());
+
+        CommentPage last = commentService.searchByNickname("park", true, first.getNextCursor(), 2);
+        assertEquals(List.of(7L), ids(last));
+        assertNull(last.getNextCursor());
+
+        // size 가 0 이하면 기본값
+        assertEquals(3, commentService.searchByNickname("park", false, null, 0).getComments().size());
+    }
+
+    @Test
+    @DisplayName("빈 닉네임은 검색하지 않음")
+    void blank() {
+        CommentPage page = commentService.searchByNickname("", true, null, 10);
+        assertTrue(page.getComments().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    private Long save(Article article, String nickname) {
+        return commentRepository.save(new Comment(null, article, nickname, "본문")).getId();
+    }
+
+    private static List<Long> ids(CommentPage page) {
+        return page.getComments().stream().map(CommentDto::getId).collect(Collectors.toList());
+    }
+}
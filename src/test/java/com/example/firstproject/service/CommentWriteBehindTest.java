@@ -0,0 +1,92 @@
+package com.example.firstproject.service;
+
+import com.example.firstproject.dto.CommentDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// write-behind 저널을 DB 에 저장하는 과정 확인
+// 다른 테스트의 데이터에 영향을 주지 않도록 별도의 인메모리 DB 를 사용하고,
+// 백그라운드 저장 주기를 길게 잡아 테스트에서 직접 flush 를 호출
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:write-behind;DB_CLOSE_ON_EXIT=FALSE",
+        "comment.write-behind.enabled=true",
+        "comment.write-behind.flush-interval-ms=3600000"
+})
+class CommentWriteBehindTest {
+
+    static Path journalFile;
+
+    @Autowired
+    CommentWriteBehind commentWriteBehind;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) throws IOException {
+        journalFile = Files.createTempDirectory("comment-journal").resolve("comment-journal.dat");
+        registry.add("comment.write-behind.journal", journalFile::toString);
+    }
+
+    @Test
+    @DisplayName("DB 커밋 후 저장 완료 위치를 기록하기 전에 종료되었다면, 다시 시작해도 같은 댓글을 두 번 저장하지 않음")
+    void replayAfterCrash() throws Exception {
+        long comments = countComments(5L);
+        long commentCount = commentCount(5L);
+
+        assertTrue(commentWriteBehind.accept(5L, new CommentDto(null, 5L, "Lee", "떡볶이")).getId() < 0);
+        assertTrue(commentWriteBehind.accept(5L, new CommentDto(null, 5L, "Kim", "냉면")).getId() < 0);
+        // 저장 완료 위치를 기록하기 전의 저널
+        byte[] beforeCheckpoint = Files.readAllBytes(journalFile);
+
+        commentWriteBehind.flush();
+        assertEquals(comments + 2, countComments(5L));
+        assertEquals(commentCount + 2, commentCount(5L));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT last_commented_at FROM article WHERE id = 5", Timestamp.class));
+
+        // 저널을 저장 완료 전의 상태로 되돌리고 다시 시작
+        commentWriteBehind.stop();
+        Files.write(journalFile, beforeCheckpoint);
+        commentWriteBehind.start();
+        commentWriteBehind.flush();
+
+        assertEquals(comments + 2, countComments(5L));
+        assertEquals(commentCount + 2, commentCount(5L));
+    }
+
+    @Test
+    @DisplayName("게시글이 삭제되어 저장할 수 없는 댓글만 버리고 나머지는 저장")
+    void discardIntegrityViolation() {
+        long comments = countComments(6L);
+
+        commentWriteBehind.accept(1L, new CommentDto(null, 1L, "Lee", "삭제될 게시글"));
+        commentWriteBehind.accept(6L, new CommentDto(null, 6L, "Lee", "독서"));
+        jdbcTemplate.update("DELETE FROM article WHERE id = 1");
+
+        commentWriteBehind.flush();
+
+        assertEquals(comments + 1, countComments(6L));
+        assertEquals(0, countComments(1L));
+    }
+
+    private long countComments(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment WHERE article_id = ?", Long.class, articleId);
+    }
+
+    private long commentCount(Long articleId) {
+        return jdbcTemplate.queryForObject("SELECT comment_count FROM article WHERE id = ?", Long.class, articleId);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.firstproject.service;
+
+import com.example.firstproject.entity.Article;
+import com.example.firstproject.repository.ArticleRepository;
+import com.example.firstproject.repository.CommentRepository;
+import org.hibernate.FlushMode;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+// 서비스의 조회 메서드가 읽기 전용 트랜잭션(플러시 모드 MANUAL)에서 실행되고,
+// 조회한 엔티티의 스냅샷(변경 감지용 loaded state)이 남지 않는지 확인
+// 리포지토리 호출 직후(아직 서비스의 트랜잭션 안)의 Hibernate 세션 상태를 기록해 두고 검사
+@SpringBootTest(properties = "debugging.mode=OFF")
+class ReadOnlyTransactionTest {
+
+    @Autowired
+    ArticleService articleService;
+
+    @Autowired
+    CommentService commentService;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @SpyBean
+    ArticleRepository articleRepository;
+
+    @SpyBean
+    CommentRepository commentRepository;
+
+    // 리포지토리 호출 직후의 세션 상태
+    static class SessionState {
+        FlushMode flushMode;
+        boolean defaultReadOnly;
+        int managedEntities;
+        List<EntityEntry> entries = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("show: 엔티티는 읽기 전용으로 관리되고 스냅샷이 없음")
+    void show() {
+        SessionState state = new SessionState();
+        doAnswer(invocation -> {
+            Optional<?> result = (Optional<?>) callReal(invocation);
+            capture(state, result.orElseThrow());
+            return result;
+        }).when(articleRepository).findById(anyLong());
+
+        Article article = articleService.show(1L);
+
+        assertEquals(1L, article.getId());
+        assertReadOnly(state);
+        assertEquals(1, state.entries.size());
+    }
+
+    @Test
+    @DisplayName("index: 목록의 모든 엔티티가 스냅샷 없이 읽힘")
+    void index() {
+        SessionState state = new SessionState();
+        doAnswer(invocation -> {
+            List<?> result = (List<?>) callReal(invocation);
+            capture(state, result.toArray());
+            return result;
+        }).when(articleRepository).findAll();
+
+        List<Article> articles = articleService.index();
+
+        assertFalse(articles.isEmpty());
+        assertReadOnly(state);
+        assertEquals(articles.size(), state.entries.size());
+    }
+
+    @Test
+    @DisplayName("detail, comments: DTO 로 조회하므로 영속성 컨텍스트에 엔티티가 없음")
+    void projections() {
+        SessionState detailState = new SessionState();
+        doAnswer(invocation -> {
+            Object result = callReal(invocation);
+            capture(detailState);
+            return result;
+        }).when(articleRepository).findDetailById(anyLong());
+
+        SessionState commentsState = new SessionState();
+        doAnswer(invocation -> {
+            Object result = callReal(invocation);
+            capture(commentsState);
+            return result;
+        }).when(commentRepository).findDtosByArticleId(any());
+
+        assertNotNull(articleService.detail(5L));
+        assertFalse(commentService.comments(5L).isEmpty());
+
+        assertReadOnly(detailState);
+        assertEquals(0, detailState.managedEntities);
+        assertReadOnly(commentsState);
+        assertEquals(0, commentsState.managedEntities);
+    }
+
+    // 리포지토리는 인터페이스(프록시)이므로 callRealMethod() 를 쓸 수 없음
+    // 스프링 부트가 원래 빈에게 위임하도록 설정해 둔 기본 응답(default answer)으로 실제 메서드를 호출
+    private static Object callReal(InvocationOnMock invocation) throws Throwable {
+        return mockingDetails(invocation.getMock()).getMockCreationSettings().getDefaultAnswer().answer(invocation);
+    }
+
+    private void capture(SessionState state, Object... entities) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        state.flushMode = session.getHibernateFlushMode();
+        state.defaultReadOnly = session.isDefaultReadOnly();
+        state.managedEntities = session.getPersistenceContext().getNumberOfManagedEntities();
+        for (Object entity : entities) {
+            state.entries.add(session.getPersistenceContext().getEntry(entity));
+        }
+    }
+
+    private static void assertReadOnly(SessionState state) {
+        assertEquals(FlushMode.MANUAL, state.flushMode);
+        assertTrue(state.defaultReadOnly);
+        for (EntityEntry entry : state.entries) {
+            assertEquals(Status.READ_ONLY, entry.getStatus());
+            assertNull(entry.getLoadedState()); // 변경 감지용 스냅샷 없음
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.firstproject.view;
+
+import com.example.firstproject.config.CacheConfig;
+import com.example.firstproject.dto.CommentDto;
+import com.example.firstproject.service.CommentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 렌더링된 게시글 상세 페이지 캐시 확인
+// 바뀌지 않은 페이지는 다시 렌더링하지 않고, 같은 ETag 로 다시 요청하면 304
+// 댓글을 추가하므로 다른 테스트와 겹치지 않는 별도의 인메모리 DB 를 사용
+@SpringBootTest(properties = {
+        "debugging.mode=OFF",
+        "spring.datasource.url=jdbc:h2:mem:article-page-cache;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+class ArticlePageCacheTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    CommentService commentService;
+
+    @Test
+    @DisplayName("렌더링된 페이지를 보관하고, If-None-Match 가 같으면 304")
+    void notModified() throws Exception {
+        String eTag = mockMvc.perform(get("/articles/4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(containsString("굳 윌 헌팅")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(eTag.startsWith("W/\""));
+        ArticlePageCache.RenderedPage cached = cachedPage(4L);
+        assertNotNull(cached);
+
+        mockMvc.perform(get("/articles/4").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // 내용이 바뀌지 않았으므로 다시 렌더링하지 않음
+        mockMvc.perform(get("/articles/4")).andExpect(header().string(HttpHeaders.ETAG, eTag));
+        assertSame(cached, cachedPage(4L));
+    }
+
+    @Test
+    @DisplayName("댓글이 추가되면 보관된 페이지가 제거되어 새 ETag 와 새 내용으로 200")
+    void commentAdded() throws Exception {
+        String eTag = mockMvc.perform(get("/articles/5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        commentService.create(5L, new CommentDto(null, 5L, "Lee", "떡볶이"));
+        assertNull(cachedPage(5L));
+
+        String newETag = mockMvc.perform(get("/articles/5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("떡볶이")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+
+        mockMvc.perform(get("/articles/5").header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isNotModified());
+    }
+
+    private ArticlePageCache.RenderedPage cachedPage(Long id) {
+        return cacheManager.getCache(CacheConfig.ARTICLE_PAGES).get(id, ArticlePageCache.RenderedPage.class);
+    }
+}